@@ -0,0 +1,203 @@
+package com.ecommerce.apigateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agregação da página de detalhe do pedido (backend for frontend)
+ *
+ * Uma chamada do cliente no lugar de N + 2: busca o pedido no Order Service e, em
+ * paralelo, o usuário no User Service e todos os produtos dos itens numa única chamada
+ * POST /api/products/batch. Cada item recebe o produto atual em "product".
+ *
+ * Falha parcial: sem o pedido a resposta é o erro do Order Service (404, 401, 503...);
+ * sem usuário ou produtos a resposta é 200 com o campo nulo, partial = true e o motivo
+ * em errors. Chamadas com o Authorization do cliente, balanceadas pelo Eureka e
+ * protegidas pelos mesmos circuit breakers das rotas.
+ */
+@Slf4j
+@Service
+public class OrderDetailAggregator {
+
+    private static final String ORDER_SERVICE = "order-service";
+    private static final String PRODUCT_SERVICE = "product-service";
+    private static final String USER_SERVICE = "user-service";
+    private static final List<String> FORWARDED_HEADERS =
+            List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT_LANGUAGE, "X-Debug-Log");
+
+    private final WebClient webClient;
+    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    public OrderDetailAggregator(WebClient.Builder webClientBuilder,
+                                 ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                 ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${gateway.bff.timeout:3s}") Duration timeout) {
+        this.webClient = webClientBuilder.filter(loadBalancerFunction).build();
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Pedido com usuário e produtos
+     */
+    public Mono<ResponseEntity<JsonNode>> orderDetail(Long orderId, HttpHeaders incoming) {
+        WebClient.RequestHeadersSpec<?> orderRequest = webClient.get()
+                .uri("http://" + ORDER_SERVICE + "/api/v1/orders/{id}", orderId);
+
+        return call(ORDER_SERVICE, orderRequest, incoming).flatMap(order -> {
+            if (!order.ok()) {
+                return Mono.just(ResponseEntity.status(order.status()).body(errorBody(order)));
+            }
+            if (!order.body().isObject()) {
+                return Mono.just(ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(errorBody(order)));
+            }
+
+            JsonNode userId = order.body().path("user_id");
+            Mono<ServiceResult> user = userId.isNumber()
+                    ? call(USER_SERVICE, webClient.get()
+                            .uri("http://" + USER_SERVICE + "/api/users/{id}", userId.asLong()), incoming)
+                    : Mono.just(ServiceResult.skipped(USER_SERVICE));
+
+            Set<Long> productIds = productIds(order.body());
+            Mono<ServiceResult> products = productIds.isEmpty()
+                    ? Mono.just(ServiceResult.skipped(PRODUCT_SERVICE))
+                    : call(PRODUCT_SERVICE, webClient.post()
+                            .uri("http://" + PRODUCT_SERVICE + "/api/products/batch")
+                            .bodyValue(productIds), incoming);
+
+            return Mono.zip(user, products)
+                    .map(parts -> ResponseEntity.ok(merge(order.body(), parts.getT1(), parts.getT2())));
+        });
+    }
+
+    // ============= CHAMADAS =============
+
+    /**
+     * Chamada a um serviço; 5xx, timeout e erros de rede contam no circuit breaker do serviço
+     * e viram um ServiceResult com falha, nunca um erro do Mono
+     */
+    private Mono<ServiceResult> call(String service, WebClient.RequestHeadersSpec<?> request, HttpHeaders incoming) {
+        Mono<ServiceResult> exchange = request
+                .headers(headers -> FORWARDED_HEADERS.forEach(name -> {
+                    String value = incoming.getFirst(name);
+                    if (value != null) {
+                        headers.set(name, value);
+                    }
+                }))
+                .exchangeToMono(response -> response.bodyToMono(JsonNode.class)
+                        .defaultIfEmpty(NullNode.getInstance())
+                        .map(body -> new ServiceResult(service, response.statusCode().value(), body, null)))
+                .flatMap(result -> result.status() >= 500
+                        ? Mono.error(new DownstreamFailureException(result))
+                        : Mono.just(result))
+                .timeout(timeout);
+
+        return circuitBreakerFactory.create(service).run(exchange, error -> Mono.just(failure(service, error)));
+    }
+
+    private ServiceResult failure(String service, Throwable error) {
+        meterRegistry.counter("gateway.bff.failures", "service", service).increment();
+        if (error instanceof DownstreamFailureException downstream) {
+            return downstream.result;
+        }
+        log.warn("Falha ao consultar {} na agregação do pedido: {}", service, error.toString());
+        int status = error instanceof TimeoutException
+                ? HttpStatus.GATEWAY_TIMEOUT.value()
+                : HttpStatus.SERVICE_UNAVAILABLE.value();
+        return new ServiceResult(service, status, NullNode.getInstance(),
+                "Serviço temporariamente indisponível");
+    }
+
+    // ============= COMPOSIÇÃO =============
+
+    private static Set<Long> productIds(JsonNode order) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (JsonNode item : order.path("items")) {
+            JsonNode productId = item.path("product_id");
+            if (productId.isNumber()) {
+                ids.add(productId.asLong());
+            }
+        }
+        return ids;
+    }
+
+    private static JsonNode merge(JsonNode order, ServiceResult user, ServiceResult products) {
+        ObjectNode mergedOrder = order.deepCopy();
+
+        Map<Long, JsonNode> productsById = new HashMap<>();
+        if (products.ok()) {
+            for (JsonNode product : products.body()) {
+                productsById.put(product.path("id").asLong(), product);
+            }
+        }
+        for (JsonNode item : mergedOrder.path("items")) {
+            if (item instanceof ObjectNode itemNode) {
+                itemNode.set("product", productsById.getOrDefault(item.path("product_id").asLong(), NullNode.getInstance()));
+            }
+        }
+
+        ArrayNode errors = JsonNodeFactory.instance.arrayNode();
+        for (ServiceResult part : List.of(user, products)) {
+            if (!part.ok()) {
+                errors.add(errorBody(part));
+            }
+        }
+
+        ObjectNode result = JsonNodeFactory.instance.objectNode();
+        result.set("order", mergedOrder);
+        result.set("user", user.ok() ? user.body() : NullNode.getInstance());
+        result.put("partial", !errors.isEmpty());
+        result.set("errors", errors);
+        return result;
+    }
+
+    private static ObjectNode errorBody(ServiceResult result) {
+        ObjectNode error = JsonNodeFactory.instance.objectNode();
+        error.put("service", result.service());
+        error.put("status", result.status());
+        String message = result.error() != null ? result.error() : result.body().path("error").asText(null);
+        if (message != null) {
+            error.put("error", message);
+        }
+        return error;
+    }
+
+    /**
+     * 5xx do serviço: falha para o circuit breaker, mantendo status e corpo para a resposta
+     */
+    private static final class DownstreamFailureException extends RuntimeException {
+
+        private final transient ServiceResult result;
+
+        DownstreamFailureException(ServiceResult result) {
+            super(result.service() + " respondeu " + result.status(), null, false, false);
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.apigateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+/**
+ * Resposta de um serviço numa agregação (status HTTP e corpo JSON)
+ *
+ * Falha de rede, timeout ou circuito aberto viram status 503/504 com a mensagem em error.
+ */
+record ServiceResult(String service, int status, JsonNode body, String error) {
+
+    static ServiceResult skipped(String service) {
+        return new ServiceResult(service, 200, NullNode.getInstance(), null);
+    }
+
+    boolean ok() {
+        return status >= 200 && status < 300;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resposta completa guardada pelo ResponseCacheStore
+ *
+ * ttlNanos = 0 indica resposta não armazenável: ela só é entregue às requisições
+ * que aguardavam a mesma chamada e sai do cache em seguida.
+ */
+public record CachedResponse(int status,
+                             HttpHeaders headers,
+                             byte[] body,
+                             String etag,
+                             long storedAtMillis,
+                             long ttlNanos,
+                             boolean shareable) {
+
+    private static final int ENTRY_OVERHEAD = 128;
+
+    public boolean cacheable() {
+        return ttlNanos > 0;
+    }
+
+    /**
+     * Idade em segundos para o cabeçalho Age
+     */
+    public long ageSeconds(long nowMillis) {
+        return Math.max(0, (nowMillis - storedAtMillis) / 1000);
+    }
+
+    /**
+     * Peso aproximado em bytes (corpo + cabeçalhos) para o limite de memória do cache
+     */
+    public int weight() {
+        long size = ENTRY_OVERHEAD + body.length;
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            size += header.getKey().length();
+            for (String value : header.getValue()) {
+                size += value.length();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+}
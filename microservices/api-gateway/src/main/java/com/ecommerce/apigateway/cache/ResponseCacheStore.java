@@ -0,0 +1,85 @@
+package com.ecommerce.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Armazenamento das respostas em cache do gateway
+ *
+ * Caffeine limitado por bytes (peso = corpo + cabeçalhos) com TTL por entrada.
+ * Cada chave guarda um CompletableFuture: enquanto a primeira chamada ao serviço
+ * está em andamento, as demais requisições da mesma chave aguardam o mesmo
+ * future em vez de chamar o serviço de novo (single-flight).
+ */
+@Slf4j
+@Component
+public class ResponseCacheStore {
+
+    private final AsyncCache<String, CachedResponse> cache;
+    private final long maxEntryBytes;
+
+    public ResponseCacheStore(@Value("${gateway.cache.max-bytes:67108864}") long maxBytes,
+                              @Value("${gateway.cache.max-entry-bytes:1048576}") long maxEntryBytes,
+                              MeterRegistry meterRegistry) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfter(new PerEntryExpiry())
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "gateway.response.cache");
+        log.info("Cache de respostas do gateway - limite: {} bytes, maior entrada: {} bytes", maxBytes, maxEntryBytes);
+    }
+
+    /**
+     * Registrar a chamada em andamento para a chave
+     *
+     * @return null se promise foi registrado (quem chamou deve buscar a resposta e
+     *         completá-lo); caso contrário, a entrada existente, completa ou em andamento
+     */
+    public CompletableFuture<CachedResponse> claim(String key, CompletableFuture<CachedResponse> promise) {
+        return cache.asMap().putIfAbsent(key, promise);
+    }
+
+    /**
+     * Remover a entrada da chave, apenas se ainda for o promise informado
+     */
+    public void release(String key, CompletableFuture<CachedResponse> promise) {
+        cache.asMap().remove(key, promise);
+    }
+
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * TTL definido por resposta (Cache-Control do serviço limitado pelo TTL da rota)
+     */
+    private static class PerEntryExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return response.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return response.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
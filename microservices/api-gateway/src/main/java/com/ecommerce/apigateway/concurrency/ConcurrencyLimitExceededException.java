@@ -0,0 +1,14 @@
+package com.ecommerce.apigateway.concurrency;
+
+/**
+ * Requisição recusada pelo limite de concorrência adaptativo
+ *
+ * Tratada pelo filtro CircuitBreaker da rota (fallback 503 do FallbackController),
+ * sem contar como falha do serviço.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String name, int limit) {
+        super("Limite de concorrência atingido para " + name + " (" + limit + " requisições simultâneas)", null, false, false);
+    }
+}
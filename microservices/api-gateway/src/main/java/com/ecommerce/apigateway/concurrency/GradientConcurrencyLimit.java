@@ -0,0 +1,121 @@
+package com.ecommerce.apigateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência adaptativo por gradiente de latência (estilo Gradient2)
+ *
+ * Compara a latência de cada resposta com a média longa (linha de base do serviço
+ * sem fila): gradiente = tolerância × média longa / latência atual, entre 0,5 e 1.
+ * Novo limite = limite × gradiente + √limite (margem para crescer), suavizado.
+ * Com latência subindo (fila no serviço) o limite cai; com latência estável ele
+ * cresce devagar. Timeouts e 503/504 reduzem o limite pelo fator de recuo.
+ *
+ * O limite só sobe com pelo menos metade dele em uso, para não crescer sem carga.
+ */
+public final class GradientConcurrencyLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double MAX_GRADIENT = 1.0;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double backoffRatio;
+    private final int longWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Protegidos por this
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long samples;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double smoothing, double rttTolerance, double backoffRatio, int longWindow) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.backoffRatio = backoffRatio;
+        this.longWindow = Math.max(1, longWindow);
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Ocupar uma vaga; false se o limite atual já está em uso
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Resposta normal: libera a vaga e ajusta o limite pela latência
+     *
+     * @param inFlightAtStart requisições em andamento quando esta começou
+     */
+    public void onSuccess(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        update(Math.max(1, rttNanos), inFlightAtStart);
+    }
+
+    /**
+     * Timeout ou sobrecarga do serviço: libera a vaga e reduz o limite
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    /**
+     * Requisição cancelada pelo cliente: libera a vaga sem amostra
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart) {
+        samples++;
+        // Média móvel exponencial; no aquecimento, média simples das amostras
+        double alpha = samples < longWindow ? 1.0 / samples : 2.0 / (longWindow + 1);
+        longRttNanos += alpha * (rttNanos - longRttNanos);
+
+        // Carga caiu bem abaixo da linha de base: aproxima a média longa da latência atual
+        if (longRttNanos / rttNanos > 2.0) {
+            longRttNanos *= 0.95;
+        }
+
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(MAX_GRADIENT, rttTolerance * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
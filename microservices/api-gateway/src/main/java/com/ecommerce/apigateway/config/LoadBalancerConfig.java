@@ -0,0 +1,28 @@
+package com.ecommerce.apigateway.config;
+
+import com.ecommerce.apigateway.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import com.ecommerce.common.loadbalancer.InstanceLatencyTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Balanceamento por latência (PeakEwmaLoadBalancer) para todas as rotas lb://
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    /**
+     * Latência por instância, compartilhada pelos balanceadores de todos os serviços
+     */
+    @Bean
+    public InstanceLatencyTracker instanceLatencyTracker(@Value("${gateway.load-balancer.decay:10s}") Duration decay,
+                                                         @Value("${gateway.load-balancer.failure-penalty:1s}") Duration failurePenalty,
+                                                         @Value("${gateway.load-balancer.idle-timeout:10m}") Duration idleTimeout) {
+        return new InstanceLatencyTracker(decay, failurePenalty, idleTimeout);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.apigateway.config;
+
+import com.ecommerce.apigateway.concurrency.ConcurrencyLimitExceededException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breakers e bulkheads das rotas do gateway
+ *
+ * Filtros CircuitBreaker (um por serviço de destino, fallback em FallbackController),
+ * Bulkhead (BulkheadGatewayFilterFactory) e AdaptiveConcurrency
+ * (AdaptiveConcurrencyGatewayFilterFactory) declarados nas rotas em api-gateway.yml.
+ * O limite de tempo de cada rota é o metadata response-timeout; o time limiter do
+ * circuit breaker é só o teto para todas as rotas.
+ *
+ * Estado exposto em resilience4j.circuitbreaker.state / .calls e
+ * resilience4j.bulkhead.available.concurrent.calls, além de /gateway/circuit-breakers.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> defaultCircuitBreakerCustomizer(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.resilience.circuit-breaker.sliding-window-size:100}") int slidingWindowSize,
+            @Value("${gateway.resilience.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${gateway.resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${gateway.resilience.circuit-breaker.slow-call-duration:3s}") Duration slowCallDuration,
+            @Value("${gateway.resilience.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${gateway.resilience.circuit-breaker.wait-in-open-state:10s}") Duration waitInOpenState,
+            @Value("${gateway.resilience.circuit-breaker.half-open-calls:10}") int halfOpenCalls,
+            @Value("${gateway.resilience.time-limit:20s}") Duration timeLimit) {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // Bulkhead cheio e limite de concorrência são excesso de carga no gateway, não falha do serviço
+                .ignoreExceptions(BulkheadFullException.class, ConcurrencyLimitExceededException.class)
+                .build();
+        TimeLimiterConfig timeLimiterConfig = TimeLimiterConfig.custom()
+                .timeoutDuration(timeLimit)
+                .build();
+
+        return factory -> {
+            factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+                    .circuitBreakerConfig(circuitBreakerConfig)
+                    .timeLimiterConfig(timeLimiterConfig)
+                    .build());
+            TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(factory.getCircuitBreakerRegistry())
+                    .bindTo(meterRegistry);
+        };
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.apigateway.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * Configuração de segurança para o API Gateway
+ *
+ * O gateway não autentica: o cabeçalho Authorization é repassado e cada serviço
+ * valida o JWT. Sem esta configuração o Spring Security exigiria login básico
+ * em todas as rotas.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                // Desabilita CSRF para APIs REST
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+
+                // CORS tratado pelo CorsWebFilter (CorsConfig)
+                .cors(ServerHttpSecurity.CorsSpec::disable)
+
+                // Sem sessão no gateway
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+
+                // Autorização feita pelos serviços de destino
+                .authorizeExchange(exchanges -> exchanges.anyExchange().permitAll())
+                .build();
+    }
+}
@@ -2,7 +2,6 @@ package com.ecommerce.apigateway.controller;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -11,7 +10,9 @@ import java.util.Map;
 
 /**
  * Controller para endpoints de fallback
- * Acionado quando os circuit breakers estão abertos
+ * Acionado pelo filtro CircuitBreaker das rotas (circuito aberto, bulkhead cheio,
+ * limite de concorrência, timeout ou 5xx do serviço); aceita qualquer método, pois o
+ * forward mantém o original
  */
 @RestController
 @RequestMapping("/fallback")
@@ -20,7 +21,7 @@ public class FallbackController {
     /**
      * Fallback para User Service
      */
-    @GetMapping("/user-service")
+    @RequestMapping("/user-service")
     public ResponseEntity<Map<String, Object>> userServiceFallback() {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                 .body(Map.of(
@@ -35,7 +36,7 @@ public class FallbackController {
     /**
      * Fallback para Product Service
      */
-    @GetMapping("/product-service")
+    @RequestMapping("/product-service")
     public ResponseEntity<Map<String, Object>> productServiceFallback() {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                 .body(Map.of(
@@ -50,7 +51,7 @@ public class FallbackController {
     /**
      * Fallback para Order Service
      */
-    @GetMapping("/order-service")
+    @RequestMapping("/order-service")
     public ResponseEntity<Map<String, Object>> orderServiceFallback() {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                 .body(Map.of(
@@ -65,7 +66,7 @@ public class FallbackController {
     /**
      * Fallback genérico
      */
-    @GetMapping("/generic")
+    @RequestMapping("/generic")
     public ResponseEntity<Map<String, Object>> genericFallback() {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                 .body(Map.of(
@@ -1,10 +1,14 @@
 package com.ecommerce.apigateway.controller;
 
+import com.ecommerce.apigateway.metrics.SlowRequestLog;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
@@ -21,6 +25,12 @@ public class GatewayInfoController {
     @Autowired
     private RouteLocator routeLocator;
 
+    @Autowired
+    private ReactiveResilience4JCircuitBreakerFactory circuitBreakerFactory;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
     /**
      * Health check do Gateway
      */
@@ -53,6 +63,7 @@ public class GatewayInfoController {
         routes.put("/api/v1/auth/**", "user-service"); 
         routes.put("/api/v1/products/**", "product-service");
         routes.put("/api/v1/orders/**", "order-service");
+        routes.put("/api/v1/bff/orders/{id}", "order-service + user-service + product-service");
         routes.put("/eureka/web", "eureka-server");
         
         response.put("routes", routes);
@@ -64,6 +75,13 @@ public class GatewayInfoController {
         features.put("circuit_breaker", true);
         features.put("cors_support", true);
         features.put("fallback_endpoints", true);
+        features.put("rate_limiting", true);
+        features.put("response_cache", true);
+        features.put("bulkhead", true);
+        features.put("adaptive_concurrency", true);
+        features.put("bff_order_detail", true);
+        features.put("route_metrics", true);
+        features.put("slow_request_log", true);
         
         response.put("features", features);
         
@@ -77,11 +95,18 @@ public class GatewayInfoController {
     public ResponseEntity<Map<String, Object>> circuitBreakers() {
         Map<String, Object> response = new HashMap<>();
         
-        // Status dos circuit breakers (simplificado)
-        Map<String, String> circuitBreakers = new HashMap<>();
-        circuitBreakers.put("user-service-cb", "CLOSED");
-        circuitBreakers.put("product-service-cb", "CLOSED");
-        circuitBreakers.put("order-service-cb", "CLOSED");
+        // Circuit breakers criados pelas rotas (após a primeira requisição de cada uma)
+        Map<String, Object> circuitBreakers = new HashMap<>();
+        for (CircuitBreaker circuitBreaker : circuitBreakerFactory.getCircuitBreakerRegistry().getAllCircuitBreakers()) {
+            CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+            circuitBreakers.put(circuitBreaker.getName(), Map.of(
+                    "state", circuitBreaker.getState().name(),
+                    "failure_rate", metrics.getFailureRate(),
+                    "slow_call_rate", metrics.getSlowCallRate(),
+                    "buffered_calls", metrics.getNumberOfBufferedCalls(),
+                    "not_permitted_calls", metrics.getNumberOfNotPermittedCalls()
+            ));
+        }
         
         response.put("circuit_breakers", circuitBreakers);
         response.put("timestamp", LocalDateTime.now());
@@ -89,6 +114,20 @@ public class GatewayInfoController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Requisições mais lentas guardadas, da mais lenta para a mais rápida
+     */
+    @GetMapping("/slow-requests")
+    public ResponseEntity<Map<String, Object>> slowRequests(@RequestParam(defaultValue = "100") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("threshold_ms", slowRequestLog.getThreshold().toMillis());
+        response.put("capacity", slowRequestLog.getCapacity());
+        response.put("requests", slowRequestLog.slowest(limit));
+        response.put("timestamp", LocalDateTime.now());
+        
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Endpoint de boas-vindas
      */
@@ -0,0 +1,55 @@
+package com.ecommerce.apigateway.controller;
+
+import com.ecommerce.apigateway.bff.OrderDetailAggregator;
+import com.ecommerce.apigateway.ratelimit.ClientKeyResolver;
+import com.ecommerce.apigateway.ratelimit.InMemoryRateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Endpoints de agregação para o frontend (backend for frontend)
+ *
+ * Não passam pelas rotas do gateway; o rate limiting é aplicado aqui com o mesmo
+ * InMemoryRateLimiter, pela rota lógica bff-order-detail (limites padrão).
+ */
+@RestController
+@RequestMapping("/api/v1/bff")
+public class OrderDetailController {
+
+    private static final String RATE_LIMIT_ROUTE = "bff-order-detail";
+
+    @Autowired
+    private OrderDetailAggregator orderDetailAggregator;
+
+    @Autowired
+    private ClientKeyResolver clientKeyResolver;
+
+    @Autowired
+    private InMemoryRateLimiter rateLimiter;
+
+    /**
+     * Detalhe do pedido com usuário e produtos atuais em uma única resposta
+     */
+    @GetMapping("/orders/{id}")
+    public Mono<ResponseEntity<?>> orderDetail(@PathVariable Long id, ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+
+        return clientKeyResolver.resolve(exchange)
+                .flatMap(key -> rateLimiter.isAllowed(RATE_LIMIT_ROUTE, key))
+                .flatMap(limit -> {
+                    exchange.getResponse().getHeaders().setAll(limit.getHeaders());
+                    if (!limit.isAllowed()) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+                    }
+                    return orderDetailAggregator.orderDetail(id, headers);
+                });
+    }
+}
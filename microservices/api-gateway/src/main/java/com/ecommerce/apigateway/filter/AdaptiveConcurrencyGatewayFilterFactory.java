@@ -0,0 +1,142 @@
+package com.ecommerce.apigateway.filter;
+
+import com.ecommerce.apigateway.concurrency.ConcurrencyLimitExceededException;
+import com.ecommerce.apigateway.concurrency.GradientConcurrencyLimit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limite de concorrência adaptativo por serviço de destino
+ *
+ * Uso na rota: "- AdaptiveConcurrency=product-service" (nome; limites opcionais em args).
+ * Mede a latência e as requisições em andamento de cada serviço e ajusta o limite
+ * com GradientConcurrencyLimit. Rotas com o mesmo nome compartilham o limite.
+ *
+ * Declarado depois do CircuitBreaker: a requisição excedente falha na hora com
+ * ConcurrencyLimitExceededException e recebe o 503 do FallbackController, em vez de
+ * esperar numa fila que só aumenta a latência de todos.
+ *
+ * Métricas: gateway.concurrency.limit, gateway.concurrency.in.flight e
+ * gateway.concurrency.rejected (tag name).
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    private final Map<String, GradientConcurrencyLimit> limits = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double backoffRatio;
+    private final int longWindow;
+
+    public AdaptiveConcurrencyGatewayFilterFactory(
+            MeterRegistry meterRegistry,
+            @Value("${gateway.concurrency.smoothing:0.2}") double smoothing,
+            @Value("${gateway.concurrency.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${gateway.concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${gateway.concurrency.long-window:600}") int longWindow) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.backoffRatio = backoffRatio;
+        this.longWindow = longWindow;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GradientConcurrencyLimit limit = limits.computeIfAbsent(config.getName(), name -> register(name, config));
+
+        return (exchange, chain) -> {
+            if (!limit.tryAcquire()) {
+                meterRegistry.counter("gateway.concurrency.rejected", "name", config.getName()).increment();
+                log.debug("Requisição recusada pelo limite de concorrência - {}: {}", config.getName(), limit.getLimit());
+                return Mono.error(new ConcurrencyLimitExceededException(config.getName(), limit.getLimit()));
+            }
+
+            int inFlightAtStart = limit.getInFlight();
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    limit.onIgnore();
+                } else if (signal == SignalType.ON_ERROR || isOverloaded(exchange.getResponse().getStatusCode())) {
+                    limit.onDropped();
+                } else {
+                    limit.onSuccess(System.nanoTime() - start, inFlightAtStart);
+                }
+            });
+        };
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private GradientConcurrencyLimit register(String name, Config config) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(config.getInitialLimit(),
+                config.getMinLimit(), config.getMaxLimit(), smoothing, rttTolerance, backoffRatio, longWindow);
+        Gauge.builder("gateway.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Limite de concorrência adaptativo atual")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in.flight", limit, GradientConcurrencyLimit::getInFlight)
+                .description("Requisições em andamento no serviço de destino")
+                .tag("name", name)
+                .register(meterRegistry);
+        log.info("Limite de concorrência adaptativo para {}: inicial {}, entre {} e {}",
+                name, config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit());
+        return limit;
+    }
+
+    /**
+     * 503/504 do serviço indicam sobrecarga, assim como timeouts (ON_ERROR)
+     */
+    private static boolean isOverloaded(HttpStatusCode status) {
+        return status != null
+                && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    @Data
+    public static class Config {
+
+        /**
+         * Nome do limite (serviço de destino)
+         */
+        private String name;
+
+        /**
+         * Limite antes das primeiras medições
+         */
+        private int initialLimit = 20;
+
+        /**
+         * Limite mínimo, mesmo com o serviço degradado
+         */
+        private int minLimit = 5;
+
+        /**
+         * Limite máximo
+         */
+        private int maxLimit = 500;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.apigateway.filter;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Limite de requisições simultâneas por serviço de destino (bulkhead)
+ *
+ * Uso na rota: "- Bulkhead=product-service, 200" (nome, máximo de chamadas simultâneas).
+ * Rotas com o mesmo nome compartilham o limite; vale a configuração da primeira rota.
+ *
+ * Declarado depois do CircuitBreaker: a requisição recusada (BulkheadFullException)
+ * vai para o fallback da rota sem contar como falha do serviço. Nunca espera por
+ * uma vaga, para não bloquear a thread do event loop.
+ */
+@Component
+public class BulkheadGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BulkheadGatewayFilterFactory.Config> {
+
+    private final BulkheadRegistry registry;
+
+    public BulkheadGatewayFilterFactory(BulkheadRegistry registry) {
+        super(Config.class);
+        this.registry = registry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "maxConcurrentCalls");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Bulkhead bulkhead = registry.bulkhead(config.getName(), BulkheadConfig.custom()
+                .maxConcurrentCalls(config.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        return (exchange, chain) -> chain.filter(exchange)
+                .transformDeferred(BulkheadOperator.of(bulkhead));
+    }
+
+    @Data
+    public static class Config {
+
+        /**
+         * Nome do bulkhead (serviço de destino)
+         */
+        private String name;
+
+        /**
+         * Máximo de requisições simultâneas
+         */
+        private int maxConcurrentCalls = 100;
+    }
+}
@@ -0,0 +1,345 @@
+package com.ecommerce.apigateway.filter;
+
+import com.ecommerce.apigateway.cache.CachedResponse;
+import com.ecommerce.apigateway.cache.ResponseCacheStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Filtro de cache de respostas GET para rotas do catálogo
+ *
+ * Uso na rota: "- ResponseCache=30s" (TTL máximo da rota).
+ *
+ * - Chave: rota + caminho + query + Accept + Accept-Encoding
+ * - Não usa cache com Authorization, Cookie, X-Debug-Log ou Cache-Control no-cache/no-store
+ *   na requisição
+ * - Guarda só 200 sem Set-Cookie, sem Cache-Control private/no-store/no-cache e sem Vary
+ *   além de Accept/Accept-Encoding/Origin; max-age/s-maxage do serviço reduz o TTL
+ * - ETag do serviço (ou calculado do corpo) e If-None-Match respondido com 304
+ * - Falhas de cache concorrentes para a mesma chave compartilham uma única chamada ao serviço
+ *
+ * Cabeçalho X-Cache na resposta: MISS, HIT, COALESCED ou BYPASS.
+ *
+ * Ordem fixa (ORDER), antes do NettyWriteResponseFilter: só assim o corpo passa pelo
+ * decorator que captura a resposta. Com isso o filtro roda antes dos demais filtros da
+ * rota: HIT e COALESCED não consomem o rate limiting, o circuit breaker nem o limite
+ * de concorrência, que só valem para as chamadas ao serviço (MISS e BYPASS).
+ */
+@Slf4j
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    /**
+     * Envolve o NettyWriteResponseFilter (como o ModifyResponseBody)
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final String DEBUG_HEADER = "X-Debug-Log";
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "transfer-encoding", "connection", "keep-alive", "set-cookie", "age", "x-cache");
+    private static final Set<String> ALLOWED_VARY = Set.of("accept", "accept-encoding", "origin");
+
+    private final ResponseCacheStore store;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String routeId = routeId(exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR));
+
+            if (!isCacheableRequest(request)) {
+                record(routeId, "BYPASS");
+                exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "BYPASS");
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(routeId, request);
+            CompletableFuture<CachedResponse> promise = new CompletableFuture<>();
+            CompletableFuture<CachedResponse> existing = store.claim(key, promise);
+
+            if (existing == null) {
+                record(routeId, "MISS");
+                return fetchAndStore(exchange, chain, config, key, promise);
+            }
+
+            String result = existing.isDone() ? "HIT" : "COALESCED";
+            // copy(): cancelar esta requisição não cancela a chamada compartilhada
+            return Mono.fromFuture(existing.copy())
+                    .map(Optional::of)
+                    .onErrorReturn(Optional.empty())
+                    .flatMap(cached -> {
+                        if (cached.isEmpty() || !cached.get().shareable()) {
+                            // Chamada compartilhada falhou ou resposta é individual
+                            record(routeId, "BYPASS");
+                            return chain.filter(exchange);
+                        }
+                        record(routeId, result);
+                        return writeCached(exchange, cached.get(), result);
+                    });
+        }, ORDER);
+    }
+
+    // ============= CHAMADA AO SERVIÇO =============
+
+    /**
+     * Encaminhar a requisição e capturar a resposta para o cache e para quem aguarda a chave
+     */
+    private Mono<Void> fetchAndStore(ServerWebExchange exchange,
+                                     GatewayFilterChain chain, Config config,
+                                     String key, CompletableFuture<CachedResponse> promise) {
+
+        ServerHttpResponseDecorator capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return DataBufferUtils.join(Flux.from(body))
+                        .map(buffer -> {
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            buffer.read(bytes);
+                            DataBufferUtils.release(buffer);
+                            return bytes;
+                        })
+                        .defaultIfEmpty(new byte[0])
+                        .flatMap(bytes -> {
+                            CachedResponse cached = capture(getStatusCode(), getHeaders(), bytes, config);
+                            promise.complete(cached);
+                            if (!cached.cacheable()) {
+                                store.release(key, promise);
+                            }
+                            if (cached.etag() != null && getHeaders().getETag() == null) {
+                                getHeaders().setETag(cached.etag());
+                            }
+                            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return writeWith(Flux.from(body).flatMapSequential(publisher -> publisher));
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    if (!promise.isDone()) {
+                        promise.completeExceptionally(new IllegalStateException("Resposta do serviço não capturada"));
+                        store.release(key, promise);
+                    }
+                });
+    }
+
+    /**
+     * Montar a entrada do cache e decidir o TTL a partir do status e dos cabeçalhos do serviço
+     */
+    private CachedResponse capture(HttpStatusCode status, HttpHeaders responseHeaders, byte[] body, Config config) {
+        int statusCode = status != null ? status.value() : HttpStatus.OK.value();
+
+        HttpHeaders headers = new HttpHeaders();
+        responseHeaders.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            // CORS é aplicado pelo CorsWebFilter em cada requisição
+            if (!EXCLUDED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+
+        String etag = responseHeaders.getETag();
+        if (etag == null && statusCode == HttpStatus.OK.value()) {
+            etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            headers.setETag(etag);
+        }
+
+        Set<String> directives = directives(responseHeaders.getCacheControl());
+        boolean shareable = !responseHeaders.containsKey(HttpHeaders.SET_COOKIE)
+                && !directives.contains("private")
+                && !directives.contains("no-store");
+
+        long ttlNanos = 0;
+        if (shareable && statusCode == HttpStatus.OK.value() && !directives.contains("no-cache")
+                && varyAllowsCaching(responseHeaders) && body.length <= store.getMaxEntryBytes()) {
+            Duration ttl = config.getTtl();
+            long maxAge = maxAgeSeconds(directives);
+            if (maxAge >= 0 && maxAge < ttl.getSeconds()) {
+                ttl = Duration.ofSeconds(maxAge);
+            }
+            ttlNanos = ttl.toNanos();
+        }
+
+        return new CachedResponse(statusCode, HttpHeaders.readOnlyHttpHeaders(headers), body, etag,
+                System.currentTimeMillis(), ttlNanos, shareable);
+    }
+
+    // ============= RESPOSTA A PARTIR DO CACHE =============
+
+    private Mono<Void> writeCached(ServerWebExchange exchange,
+                                   CachedResponse cached, String result) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.set(CACHE_STATUS_HEADER, result);
+
+        if (cached.etag() != null && matchesIfNoneMatch(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.setETag(cached.etag());
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        headers.putAll(cached.headers());
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(System.currentTimeMillis())));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private static boolean isCacheableRequest(ServerHttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        HttpHeaders headers = request.getHeaders();
+        if (headers.containsKey(HttpHeaders.AUTHORIZATION) || headers.containsKey(HttpHeaders.COOKIE)
+                || headers.containsKey(DEBUG_HEADER)) {
+            return false;
+        }
+        Set<String> directives = directives(headers.getCacheControl());
+        return !directives.contains("no-cache") && !directives.contains("no-store");
+    }
+
+    private static String cacheKey(String routeId, ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        StringBuilder key = new StringBuilder(128)
+                .append(routeId).append(' ')
+                .append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        return key.append('|').append(headers.getFirst(HttpHeaders.ACCEPT))
+                .append('|').append(headers.getFirst(HttpHeaders.ACCEPT_ENCODING))
+                .toString();
+    }
+
+    private static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+        List<String> candidates = request.getHeaders().getIfNoneMatch();
+        String opaque = stripWeak(etag);
+        for (String candidate : candidates) {
+            if ("*".equals(candidate) || stripWeak(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static boolean varyAllowsCaching(HttpHeaders headers) {
+        for (String vary : headers.getVary()) {
+            if (!ALLOWED_VARY.contains(vary.trim().toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> directives(String cacheControl) {
+        Set<String> directives = new HashSet<>();
+        if (cacheControl == null) {
+            return directives;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String trimmed = directive.trim().toLowerCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) {
+                directives.add(trimmed);
+            }
+        }
+        return directives;
+    }
+
+    /**
+     * s-maxage tem precedência sobre max-age (cache compartilhado); -1 se ausente
+     */
+    private static long maxAgeSeconds(Set<String> directives) {
+        long maxAge = -1;
+        for (String directive : directives) {
+            try {
+                if (directive.startsWith("s-maxage=")) {
+                    return Long.parseLong(directive.substring("s-maxage=".length()));
+                }
+                if (directive.startsWith("max-age=")) {
+                    maxAge = Long.parseLong(directive.substring("max-age=".length()));
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Cache-Control inválido ignorado: {}", directive);
+            }
+        }
+        return maxAge;
+    }
+
+    private static String routeId(Route route) {
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private void record(String routeId, String result) {
+        meterRegistry.counter("gateway.cache.requests", "route", routeId, "result", result).increment();
+    }
+
+    /**
+     * Configuração por rota
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * TTL máximo das respostas da rota
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.apigateway.loadbalancer;
+
+import com.ecommerce.common.loadbalancer.InstanceLatencyTracker;
+import com.ecommerce.common.loadbalancer.PeakEwmaLoadBalancer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuração dos contextos do Spring Cloud LoadBalancer (um por serviço)
+ *
+ * Registrada por LoadBalancerConfig; sem @Configuration de propósito, para não entrar
+ * no contexto principal pelo component scan. Com gateway.load-balancer.peak-ewma.enabled
+ * = false vale o round-robin padrão do Spring Cloud.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(value = "gateway.load-balancer.peak-ewma.enabled", havingValue = "true", matchIfMissing = true)
+    public PeakEwmaLoadBalancer peakEwmaLoadBalancer(Environment environment,
+                                                     LoadBalancerClientFactory loadBalancerClientFactory,
+                                                     InstanceLatencyTracker tracker) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PeakEwmaLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, tracker);
+    }
+}
@@ -0,0 +1,222 @@
+package com.ecommerce.apigateway.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.reactive.ServerHttpObservationFilter;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas por rota de todas as requisições roteadas pelo gateway
+ *
+ * - gateway.route.duration: tempo total no gateway (tags route, method, status,
+ *   outcome); a contagem por status sai do count do timer
+ * - gateway.route.upstream.duration: até os cabeçalhos da resposta do serviço (UpstreamTimingFilter)
+ * - gateway.route.overhead.duration: tempo total menos o do serviço
+ * - gateway.route.request.size / gateway.route.response.size: bytes do corpo
+ *
+ * Percentis (gateway.metrics.percentiles) calculados na instância e histograma
+ * publicado para os registros que o suportam. Requisições acima de
+ * gateway.slow-requests.threshold vão para o SlowRequestLog com o trace id.
+ *
+ * Primeiro filtro global: mede também o rate limiting, o cache e os fallbacks.
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    private static final String ERROR_STATUS_ATTR = RouteMetricsFilter.class.getName() + ".errorStatus";
+    private static final String CANCELLED = "CANCELLED";
+
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestLog slowRequestLog;
+    private final double[] percentiles;
+
+    public RouteMetricsFilter(MeterRegistry meterRegistry,
+                              SlowRequestLog slowRequestLog,
+                              @Value("${gateway.metrics.percentiles:0.5,0.95,0.99}") double[] percentiles) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestLog = slowRequestLog;
+        this.percentiles = percentiles;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        ServerHttpRequest request = exchange.getRequest();
+        CountingResponse response = new CountingResponse(exchange.getResponse());
+
+        return chain.filter(exchange.mutate().response(response).build())
+                .doOnError(error -> exchange.getAttributes().put(ERROR_STATUS_ATTR, errorStatus(error)))
+                .doFinally(signal -> record(exchange, request, response, signal, System.nanoTime() - start));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private void record(ServerWebExchange exchange, ServerHttpRequest request, CountingResponse response,
+                        SignalType signal, long durationNanos) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unknown";
+        String status = status(exchange, response, signal);
+        Long upstreamNanos = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR);
+        long overheadNanos = Math.max(0, durationNanos - (upstreamNanos != null ? upstreamNanos : 0));
+        long requestBytes = Math.max(0, request.getHeaders().getContentLength());
+
+        timer("gateway.route.duration", "Tempo total da requisição no gateway")
+                .tags("route", routeId, "method", request.getMethod().name(), "status", status, "outcome", outcome(status))
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (upstreamNanos != null) {
+            timer("gateway.route.upstream.duration", "Tempo do serviço até os cabeçalhos da resposta")
+                    .tag("route", routeId)
+                    .register(meterRegistry)
+                    .record(upstreamNanos, TimeUnit.NANOSECONDS);
+        }
+        timer("gateway.route.overhead.duration", "Tempo gasto no gateway (total menos o serviço)")
+                .tag("route", routeId)
+                .register(meterRegistry)
+                .record(overheadNanos, TimeUnit.NANOSECONDS);
+        size("gateway.route.request.size", routeId).record(requestBytes);
+        size("gateway.route.response.size", routeId).record(response.getBytes());
+
+        if (slowRequestLog.isSlow(durationNanos)) {
+            slowRequestLog.record(new SlowRequest(Instant.now(), traceId(exchange), routeId, request.getMethod().name(),
+                    request.getPath().value(), status, toMillis(durationNanos),
+                    upstreamNanos != null ? toMillis(upstreamNanos) : null, toMillis(overheadNanos),
+                    requestBytes, response.getBytes()));
+        }
+    }
+
+    private Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(percentiles)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(30));
+    }
+
+    private DistributionSummary size(String name, String routeId) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Status enviado ao cliente; erros ainda não tratados viram o status que o
+     * DefaultErrorWebExceptionHandler vai responder
+     */
+    private static String status(ServerWebExchange exchange, ServerHttpResponse response, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return CANCELLED;
+        }
+        Integer errorStatus = exchange.getAttribute(ERROR_STATUS_ATTR);
+        if (errorStatus != null) {
+            return String.valueOf(errorStatus);
+        }
+        HttpStatusCode statusCode = response.getStatusCode();
+        return String.valueOf(statusCode != null ? statusCode.value() : 200);
+    }
+
+    private static int errorStatus(Throwable error) {
+        return error instanceof ResponseStatusException statusException ? statusException.getStatusCode().value() : 500;
+    }
+
+    private static String outcome(String status) {
+        if (CANCELLED.equals(status)) {
+            return CANCELLED;
+        }
+        return switch (status.charAt(0)) {
+            case '1' -> "INFORMATIONAL";
+            case '2' -> "SUCCESS";
+            case '3' -> "REDIRECTION";
+            case '4' -> "CLIENT_ERROR";
+            default -> "SERVER_ERROR";
+        };
+    }
+
+    /**
+     * Trace id do span da requisição (observação do WebFlux); sem tracing, o do traceparent recebido
+     */
+    private static String traceId(ServerWebExchange exchange) {
+        Observation.Context context = ServerHttpObservationFilter.findObservationContext(exchange).orElse(null);
+        if (context != null) {
+            TracingObservationHandler.TracingContext tracingContext = context.get(TracingObservationHandler.TracingContext.class);
+            Span span = tracingContext != null ? tracingContext.getSpan() : null;
+            if (span != null) {
+                return span.context().traceId();
+            }
+        }
+        String traceparent = exchange.getRequest().getHeaders().getFirst("traceparent");
+        if (traceparent != null) {
+            String[] parts = traceparent.split("-");
+            if (parts.length >= 2) {
+                return parts[1];
+            }
+        }
+        return null;
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Conta os bytes do corpo enviados ao cliente
+     */
+    private static final class CountingResponse extends ServerHttpResponseDecorator {
+
+        private final AtomicLong bytes = new AtomicLong();
+
+        CountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(this::count));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(chunk -> Flux.from(chunk).doOnNext(this::count)));
+        }
+
+        long getBytes() {
+            return bytes.get();
+        }
+
+        private void count(DataBuffer buffer) {
+            bytes.addAndGet(buffer.readableByteCount());
+        }
+    }
+}
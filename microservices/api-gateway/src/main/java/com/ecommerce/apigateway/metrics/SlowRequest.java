@@ -0,0 +1,27 @@
+package com.ecommerce.apigateway.metrics;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.time.Instant;
+
+/**
+ * Requisição registrada no SlowRequestLog
+ *
+ * @param path           caminho recebido pelo gateway, sem a query string
+ * @param upstreamMillis até os cabeçalhos da resposta do serviço (null se não chegou ao serviço)
+ * @param gatewayMillis  restante do tempo total: filtros, filas e envio do corpo ao cliente
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record SlowRequest(Instant timestamp,
+                          String traceId,
+                          String routeId,
+                          String method,
+                          String path,
+                          String status,
+                          long durationMillis,
+                          Long upstreamMillis,
+                          long gatewayMillis,
+                          long requestBytes,
+                          long responseBytes) {
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.apigateway.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Requisições mais lentas do gateway (GET /gateway/slow-requests)
+ *
+ * Min-heap limitado (gateway.slow-requests.capacity): guarda as N requisições mais
+ * lentas acima de gateway.slow-requests.threshold; com o heap cheio, uma nova entrada
+ * só substitui a mais rápida guardada se for mais lenta que ela. A duração mínima
+ * guardada fica em um campo volatile, então a maioria das requisições é descartada
+ * sem pegar o lock. A consulta devolve as entradas da mais lenta para a mais rápida.
+ */
+@Component
+public class SlowRequestLog {
+
+    private static final Comparator<SlowRequest> BY_DURATION = Comparator.comparingLong(SlowRequest::durationMillis);
+
+    private final PriorityQueue<SlowRequest> heap;
+    private final int capacity;
+    private final long thresholdNanos;
+
+    /**
+     * Duração da mais rápida guardada com o heap cheio (-1 enquanto há espaço)
+     */
+    private volatile long floorMillis = -1;
+
+    public SlowRequestLog(@Value("${gateway.slow-requests.capacity:100}") int capacity,
+                          @Value("${gateway.slow-requests.threshold:1s}") Duration threshold) {
+        this.capacity = Math.max(1, capacity);
+        this.heap = new PriorityQueue<>(this.capacity, BY_DURATION);
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    /**
+     * A duração entra no log
+     */
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= thresholdNanos;
+    }
+
+    public void record(SlowRequest request) {
+        if (request.durationMillis() <= floorMillis) {
+            return;
+        }
+        synchronized (heap) {
+            if (heap.size() < capacity) {
+                heap.add(request);
+            } else if (request.durationMillis() > heap.peek().durationMillis()) {
+                heap.poll();
+                heap.add(request);
+            } else {
+                return;
+            }
+            if (heap.size() == capacity) {
+                floorMillis = heap.peek().durationMillis();
+            }
+        }
+    }
+
+    /**
+     * Entradas atuais, da mais lenta para a mais rápida
+     */
+    public List<SlowRequest> slowest(int limit) {
+        List<SlowRequest> snapshot;
+        synchronized (heap) {
+            snapshot = new ArrayList<>(heap);
+        }
+        snapshot.sort(BY_DURATION.reversed());
+        return snapshot.size() > limit ? snapshot.subList(0, Math.max(0, limit)) : snapshot;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Duration getThreshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+}
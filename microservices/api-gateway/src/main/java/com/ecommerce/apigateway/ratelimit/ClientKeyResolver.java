@@ -0,0 +1,125 @@
+package com.ecommerce.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Identificação do cliente para o rate limiting
+ *
+ * Ordem: usuário do JWT (user:<id>), chave de API cadastrada (key:<chave>) e IP (ip:<endereço>).
+ * O JWT só é usado com assinatura válida (jwt.secret igual ao do User Service) e chaves
+ * de API só se estiverem em gateway.rate-limit.api-keys; do contrário um cliente abusivo
+ * ganharia um balde novo a cada token ou chave inventada.
+ */
+@Slf4j
+@Component
+public class ClientKeyResolver implements KeyResolver {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String INVALID = "";
+
+    private final JwtParser jwtParser;
+    private final Set<String> apiKeys;
+    private final boolean trustForwardedFor;
+    private final Cache<String, String> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+
+    public ClientKeyResolver(@Value("${jwt.secret:}") String jwtSecret,
+                             @Value("${gateway.rate-limit.api-keys:}") String apiKeys,
+                             @Value("${gateway.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        this.jwtParser = StringUtils.hasText(jwtSecret)
+                ? Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8))).build()
+                : null;
+        this.apiKeys = Arrays.stream(apiKeys.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toUnmodifiableSet());
+        this.trustForwardedFor = trustForwardedFor;
+
+        if (jwtParser == null) {
+            log.warn("jwt.secret não configurado no gateway - rate limiting por chave de API ou IP");
+        }
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        String user = userFromToken(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (user != null) {
+            return Mono.just("user:" + user);
+        }
+
+        String apiKey = request.getHeaders().getFirst(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return Mono.just("key:" + apiKey);
+        }
+
+        return Mono.just("ip:" + clientIp(request));
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    /**
+     * Usuário de um token válido; resultado guardado para não verificar a assinatura a cada requisição
+     */
+    private String userFromToken(String authorization) {
+        if (jwtParser == null || authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String token = authorization.substring(BEARER_PREFIX.length());
+        String user = verifiedTokens.get(token, this::verify);
+        return INVALID.equals(user) ? null : user;
+    }
+
+    private String verify(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Object userId = claims.get("userId");
+            return userId != null ? userId.toString() : claims.getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token inválido ignorado no rate limiting: {}", e.getMessage());
+            return INVALID;
+        }
+    }
+
+    private String clientIp(ServerHttpRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+            if (StringUtils.hasText(forwardedFor)) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma > 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+}
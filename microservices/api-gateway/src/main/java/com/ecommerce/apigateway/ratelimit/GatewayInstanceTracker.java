@@ -0,0 +1,49 @@
+package com.ecommerce.apigateway.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Número de instâncias do gateway registradas no Eureka
+ *
+ * Usado para dividir as cotas de rate limiting: cada instância aplica
+ * limite / instâncias, o que aproxima o limite do cluster sem armazenamento
+ * compartilhado. Atualizado a cada busca do registro pelo cliente Eureka.
+ */
+@Slf4j
+@Component
+public class GatewayInstanceTracker {
+
+    private final DiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final AtomicInteger instances = new AtomicInteger(1);
+
+    public GatewayInstanceTracker(DiscoveryClient discoveryClient,
+                                  @Value("${spring.application.name:api-gateway}") String serviceId) {
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+    }
+
+    public int getInstances() {
+        return instances.get();
+    }
+
+    @EventListener(HeartbeatEvent.class)
+    public void refresh() {
+        try {
+            int discovered = Math.max(1, discoveryClient.getInstances(serviceId).size());
+            int previous = instances.getAndSet(discovered);
+            if (previous != discovered) {
+                log.info("Instâncias do gateway: {} -> {}, cotas de rate limiting redistribuídas", previous, discovered);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível consultar instâncias do gateway, mantendo {}: {}", instances.get(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter em memória para o filtro RequestRateLimiter do gateway
+ *
+ * Substitui o RedisRateLimiter: um TokenBucket por rota + cliente, sem serviço
+ * externo. Limites por rota nos args do filtro (api-gateway.yml no Config Server):
+ *
+ *   - name: RequestRateLimiter
+ *     args:
+ *       in-memory-rate-limiter.replenish-rate: 20   # tokens por segundo no cluster
+ *       in-memory-rate-limiter.burst-capacity: 40   # rajada máxima no cluster
+ *
+ * Os limites valem para o cluster e são divididos pelo número de instâncias do
+ * gateway no Eureka (GatewayInstanceTracker).
+ */
+@Slf4j
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Cache<String, TokenBucket> buckets;
+    private final GatewayInstanceTracker instanceTracker;
+    private final MeterRegistry meterRegistry;
+    private final Config defaultConfig;
+
+    public InMemoryRateLimiter(ConfigurationService configurationService,
+                               GatewayInstanceTracker instanceTracker,
+                               MeterRegistry meterRegistry,
+                               @Value("${gateway.rate-limit.default.replenish-rate:50}") int defaultReplenishRate,
+                               @Value("${gateway.rate-limit.default.burst-capacity:100}") int defaultBurstCapacity,
+                               @Value("${gateway.rate-limit.max-clients:100000}") long maxClients,
+                               @Value("${gateway.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.instanceTracker = instanceTracker;
+        this.meterRegistry = meterRegistry;
+        this.defaultConfig = new Config();
+        this.defaultConfig.setReplenishRate(defaultReplenishRate);
+        this.defaultConfig.setBurstCapacity(defaultBurstCapacity);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        if (config.getReplenishRate() <= 0) {
+            // Rota bloqueada
+            return Mono.just(new Response(false, Map.of(LIMIT_HEADER, "0", REMAINING_HEADER, "0")));
+        }
+        int instances = instanceTracker.getInstances();
+
+        // Cota desta instância
+        int capacity = Math.max(1, config.getBurstCapacity() / instances);
+        long intervalNanos = Math.max(1, NANOS_PER_SECOND * instances / config.getReplenishRate());
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(routeId + '|' + id, key -> new TokenBucket(now));
+        TokenBucket.Decision decision = bucket.tryConsume(now, intervalNanos, capacity, config.getRequestedTokens());
+
+        meterRegistry.counter("gateway.ratelimit.requests",
+                "route", routeId, "outcome", decision.allowed() ? "allowed" : "limited").increment();
+        if (!decision.allowed()) {
+            log.debug("Rate limit excedido - rota: {}, cliente: {}", routeId, id);
+        }
+
+        return Mono.just(new Response(decision.allowed(), headers(capacity, decision)));
+    }
+
+    private static Map<String, String> headers(int capacity, TokenBucket.Decision decision) {
+        Map<String, String> headers = new HashMap<>(8);
+        headers.put(LIMIT_HEADER, String.valueOf(capacity));
+        headers.put(REMAINING_HEADER, String.valueOf(decision.remaining()));
+        headers.put(RESET_HEADER, String.valueOf(toSecondsCeil(decision.resetNanos())));
+        if (!decision.allowed()) {
+            headers.put(RETRY_AFTER_HEADER, String.valueOf(Math.max(1, toSecondsCeil(decision.retryAfterNanos()))));
+        }
+        return headers;
+    }
+
+    private static long toSecondsCeil(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    /**
+     * Limites de uma rota (valores do cluster inteiro)
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * Tokens repostos por segundo
+         */
+        private int replenishRate;
+
+        /**
+         * Tamanho máximo do balde (rajada)
+         */
+        private int burstCapacity = 1;
+
+        /**
+         * Tokens consumidos por requisição
+         */
+        private int requestedTokens = 1;
+    }
+}
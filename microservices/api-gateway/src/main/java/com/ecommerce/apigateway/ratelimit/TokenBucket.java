@@ -0,0 +1,54 @@
+package com.ecommerce.apigateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock (algoritmo GCRA)
+ *
+ * O estado é um único long com o "horário teórico de chegada" (TAT) em nanos:
+ * o balde está cheio quando TAT <= agora e cada token consumido avança o TAT em
+ * um intervalo de reposição. Uma requisição é aceita se o novo TAT não passar de
+ * agora + capacidade × intervalo. Atualização por CAS, sem alocar estado novo.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Tentar consumir tokens
+     *
+     * @param intervalNanos tempo de reposição de um token
+     * @param capacity      tamanho do balde (rajada)
+     */
+    Decision tryConsume(long nowNanos, long intervalNanos, int capacity, int tokens) {
+        long increment = intervalNanos * tokens;
+        long tolerance = intervalNanos * capacity;
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + increment;
+            long allowedAt = next - tolerance;
+
+            if (allowedAt > nowNanos) {
+                return new Decision(false, 0, Math.max(0, current - nowNanos), allowedAt - nowNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                long remaining = (nowNanos + tolerance - next) / intervalNanos;
+                return new Decision(true, remaining, next - nowNanos, 0);
+            }
+        }
+    }
+
+    /**
+     * Resultado da tentativa
+     *
+     * @param resetNanos      tempo até o balde ficar cheio de novo
+     * @param retryAfterNanos tempo até a próxima requisição ser aceita (0 se aceita)
+     */
+    record Decision(boolean allowed, long remaining, long resetNanos, long retryAfterNanos) {
+    }
+}
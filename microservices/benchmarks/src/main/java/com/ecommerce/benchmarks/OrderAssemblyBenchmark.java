@@ -0,0 +1,128 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.orderservice.client.dto.ProductResponseDTO;
+import com.ecommerce.orderservice.dto.CreateOrderDTO;
+import com.ecommerce.orderservice.entity.Order;
+import com.ecommerce.orderservice.entity.OrderItem;
+import com.ecommerce.orderservice.service.OrderAssembler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem do pedido: caminho anterior (LocalDateTime.now() por item, soma com
+ * BigDecimal e recálculo do total a cada addItem) contra o OrderAssembler.
+ *
+ * Comparar gc.alloc.rate.norm (bytes por pedido):
+ * java -jar target/benchmarks.jar OrderAssemblyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderAssemblyBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int itemCount;
+
+    private CreateOrderDTO createOrderDTO;
+    private List<ProductResponseDTO> products;
+    private OrderAssembler orderAssembler;
+
+    @Setup
+    public void setup() {
+        List<CreateOrderDTO.CreateOrderItemDTO> items = new ArrayList<>(itemCount);
+        products = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            long productId = i + 1;
+            items.add(CreateOrderDTO.CreateOrderItemDTO.builder()
+                    .productId(productId)
+                    .quantity(1 + i % 3)
+                    .build());
+            products.add(ProductResponseDTO.builder()
+                    .id(productId)
+                    .name("Produto " + productId)
+                    .sku("SKU-" + productId)
+                    .price(new BigDecimal("199.90").add(BigDecimal.valueOf(i)))
+                    .category("ELETRONICOS")
+                    .brand("Marca")
+                    .active(true)
+                    .available(true)
+                    .build());
+        }
+
+        createOrderDTO = CreateOrderDTO.builder()
+                .userId(1L)
+                .items(items)
+                .shippingAddress("Rua das Flores, 123 - São Paulo/SP")
+                .paymentMethod("CREDIT_CARD")
+                .build();
+
+        orderAssembler = new OrderAssembler(Clock.systemDefaultZone());
+    }
+
+    @Benchmark
+    public Order assemble() {
+        return orderAssembler.assemble(createOrderDTO, "ORD-BENCH", products);
+    }
+
+    @Benchmark
+    public Order legacyAssembly() {
+        List<CreateOrderDTO.CreateOrderItemDTO> itemDTOs = createOrderDTO.getItems();
+        List<OrderItem> validatedItems = new ArrayList<>(itemDTOs.size());
+        for (int i = 0; i < itemDTOs.size(); i++) {
+            CreateOrderDTO.CreateOrderItemDTO itemDTO = itemDTOs.get(i);
+            ProductResponseDTO product = products.get(i);
+            validatedItems.add(OrderItem.builder()
+                    .productId(product.getId())
+                    .productName(product.getName())
+                    .productSku(product.getSku())
+                    .unitPrice(product.getPrice())
+                    .quantity(itemDTO.getQuantity())
+                    .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(itemDTO.getQuantity())))
+                    .productCategory(product.getCategory())
+                    .productBrand(product.getBrand())
+                    .productImageUrl(product.getImageUrl())
+                    .notes(itemDTO.getNotes())
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+
+        BigDecimal totalAmount = validatedItems.stream()
+                .map(OrderItem::getTotalPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Order order = Order.builder()
+                .userId(createOrderDTO.getUserId())
+                .orderNumber("ORD-BENCH")
+                .status(Order.OrderStatus.PENDING)
+                .totalAmount(totalAmount)
+                .shippingAddress(createOrderDTO.getShippingAddress())
+                .paymentMethod(createOrderDTO.getPaymentMethod())
+                .paymentStatus(Order.PaymentStatus.PENDING)
+                .notes(createOrderDTO.getNotes())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        validatedItems.forEach(order::addItem);
+        return order;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.orderservice.dto.OrderResponseDTO;
+import com.ecommerce.orderservice.entity.Order;
+import com.ecommerce.orderservice.entity.OrderItem;
+import com.ecommerce.orderservice.service.OrderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de pedidos para DTO de resposta (OrderMapper)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderConversionBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int itemCount;
+
+    private OrderMapper orderMapper;
+    private Order order;
+    private OrderItem item;
+
+    @Setup
+    public void setup() {
+        orderMapper = new OrderMapper();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            long productId = i + 1;
+            BigDecimal unitPrice = new BigDecimal("199.90").add(BigDecimal.valueOf(i));
+            items.add(OrderItem.builder()
+                    .id(productId)
+                    .productId(productId)
+                    .productName("Produto " + productId)
+                    .productSku("SKU-" + productId)
+                    .unitPrice(unitPrice)
+                    .quantity(2)
+                    .totalPrice(unitPrice.multiply(BigDecimal.valueOf(2)))
+                    .productCategory("ELETRONICOS")
+                    .productBrand("Marca")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+
+        order = Order.builder()
+                .id(1L)
+                .userId(1L)
+                .orderNumber("ORD202401151030A1B2")
+                .status(Order.OrderStatus.PENDING)
+                .shippingAddress("Rua das Flores, 123 - São Paulo/SP")
+                .paymentMethod("CREDIT_CARD")
+                .paymentStatus(Order.PaymentStatus.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        order.addItems(items, items.stream()
+                .map(OrderItem::getTotalPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        item = items.get(0);
+    }
+
+    @Benchmark
+    public OrderResponseDTO toResponseDTO() {
+        return orderMapper.toResponseDTO(order);
+    }
+
+    @Benchmark
+    public OrderResponseDTO.OrderItemResponseDTO toItemResponseDTO() {
+        return orderMapper.toItemResponseDTO(item);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.orderservice.repository.OrderIntakeRequestRepository;
+import com.ecommerce.orderservice.repository.OrderRepository;
+import com.ecommerce.orderservice.service.OrderNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração do número do pedido (OrderNumberGenerator)
+ *
+ * Os repositórios são substituídos por proxies que nunca encontram o número,
+ * então o custo medido é o do timestamp formatado e do sufixo aleatório.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderNumberGeneratorBenchmark {
+
+    private OrderNumberGenerator orderNumberGenerator;
+
+    @Setup
+    public void setup() {
+        orderNumberGenerator = new OrderNumberGenerator(
+                notFound(OrderRepository.class), notFound(OrderIntakeRequestRepository.class));
+        ReflectionTestUtils.setField(orderNumberGenerator, "prefix", "ORD");
+    }
+
+    @Benchmark
+    public String generate() {
+        return orderNumberGenerator.generate();
+    }
+
+    /**
+     * Repositório em que existsByOrderNumber sempre retorna false
+     */
+    private static <T> T notFound(Class<T> repositoryType) {
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType}, (proxy, method, args) -> {
+                    if (method.getName().equals("existsByOrderNumber")) {
+                        return false;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.orderservice.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transições de estado do pedido (entidade Order)
+ * Cada operação parte de um pedido novo em PENDING.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderStateTransitionBenchmark {
+
+    private static final BigDecimal TOTAL = new BigDecimal("399.80");
+
+    @Benchmark
+    public Order fullLifecycle() {
+        Order order = newOrder();
+        order.confirm();
+        order.startProcessing();
+        order.ship();
+        order.deliver();
+        return order;
+    }
+
+    @Benchmark
+    public Order confirmAndCancel() {
+        Order order = newOrder();
+        order.confirm();
+        order.cancel("Cancelado pelo cliente");
+        return order;
+    }
+
+    private static Order newOrder() {
+        return Order.builder()
+                .userId(1L)
+                .orderNumber("ORD202401151030A1B2")
+                .status(Order.OrderStatus.PENDING)
+                .totalAmount(TOTAL)
+                .shippingAddress("Rua das Flores, 123 - São Paulo/SP")
+                .paymentStatus(Order.PaymentStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.productservice.dto.ProductResponseDTO;
+import com.ecommerce.productservice.entity.Product;
+import com.ecommerce.productservice.service.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de produtos para DTO de resposta (ProductMapper)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductConversionBenchmark {
+
+    private ProductMapper productMapper;
+    private Product product;
+
+    @Setup
+    public void setup() {
+        productMapper = new ProductMapper();
+
+        LocalDateTime now = LocalDateTime.now();
+        product = Product.builder()
+                .id(1L)
+                .name("Smartphone Galaxy S23")
+                .description("Smartphone com tela de 6.1 polegadas e 128GB")
+                .price(new BigDecimal("3999.90"))
+                .stockQuantity(50)
+                .category("ELETRONICOS")
+                .brand("Samsung")
+                .sku("SAMS23-128")
+                .weight(new BigDecimal("0.168"))
+                .dimensions("14.6 x 7.1 x 0.76 cm")
+                .imageUrl("https://example.com/images/s23.jpg")
+                .featured(true)
+                .minStockLevel(10)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public ProductResponseDTO toResponseDTO() {
+        return productMapper.toResponseDTO(product);
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.productservice.dto.ProductResponseDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialização de listas de produtos: JSON contra CBOR, com e sem gzip
+ *
+ * Mesmo payload de /api/products/batch e mesmas configurações do spring.jackson
+ * dos serviços (CborConfig). O tamanho de cada combinação é impresso no setup;
+ * o tempo medido é o de CPU para gerar e para ler o corpo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<ProductResponseDTO>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"JSON", "CBOR"})
+    private String format;
+
+    @Param({"NONE", "GZIP"})
+    private String compression;
+
+    @Param({"20", "200"})
+    private int products;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private List<ProductResponseDTO> payload;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if ("CBOR".equals(format)) {
+            builder.factory(new CBORFactory());
+        }
+        objectMapper = builder.build();
+        gzip = "GZIP".equals(compression);
+        payload = products(products);
+        encoded = serialize();
+
+        System.out.printf("%n%s/%s, %d produtos: %d bytes%n", format, compression, products, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : buffer) {
+            objectMapper.writeValue(out, payload);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> deserialize() throws IOException {
+        InputStream in = new ByteArrayInputStream(encoded);
+        try (InputStream body = gzip ? new GZIPInputStream(in) : in) {
+            return objectMapper.readValue(body, PRODUCT_LIST);
+        }
+    }
+
+    private static List<ProductResponseDTO> products(int count) {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<ProductResponseDTO> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(ProductResponseDTO.builder()
+                    .id((long) i)
+                    .name("Smartphone Galaxy S23 " + i)
+                    .description("Smartphone com tela de 6.1 polegadas e 128GB")
+                    .price(new BigDecimal("3999.90").add(BigDecimal.valueOf(i)))
+                    .stockQuantity(50 + i)
+                    .category("ELETRONICOS")
+                    .brand("Samsung")
+                    .sku("SAMS23-" + i)
+                    .weight(new BigDecimal("0.168"))
+                    .dimensions("14.6 x 7.1 x 0.76 cm")
+                    .imageUrl("https://example.com/images/s23-" + i + ".jpg")
+                    .active(true)
+                    .featured(i % 5 == 0)
+                    .minStockLevel(10)
+                    .available(true)
+                    .lowStock(false)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return products;
+    }
+}
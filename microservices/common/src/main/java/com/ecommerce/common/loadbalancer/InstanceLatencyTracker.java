@@ -0,0 +1,125 @@
+package com.ecommerce.common.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latência (peak EWMA) e requisições pendentes de cada instância dos serviços
+ *
+ * Custo de uma instância = latência estimada × (pendentes + 1). A estimativa sobe
+ * na hora para uma resposta mais lenta (pico) e desce aos poucos, com meia-vida
+ * proporcional a decay; sem tráfego ela decai até zero, para que uma instância
+ * que saiu de uma pausa de GC volte a ser testada.
+ *
+ * Um bean por aplicação, no contexto principal, compartilhado pelos PeakEwmaLoadBalancer
+ * de todos os serviços chamados; cada aplicação lê decay, failure-penalty e idle-timeout
+ * do seu prefixo (gateway.load-balancer, order.load-balancer).
+ */
+@Slf4j
+public class InstanceLatencyTracker {
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final long idleTimeoutNanos;
+
+    public InstanceLatencyTracker(Duration decay, Duration failurePenalty, Duration idleTimeout) {
+        this.decayNanos = Math.max(1, decay.toNanos());
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Custo atual da instância (menor é melhor)
+     */
+    public double cost(ServiceInstance instance) {
+        Stats instanceStats = stats.get(key(instance));
+        return instanceStats != null ? instanceStats.cost(System.nanoTime()) : 0;
+    }
+
+    public void onStart(ServiceInstance instance) {
+        stats(instance).outstanding.incrementAndGet();
+    }
+
+    /**
+     * Resposta recebida (ou falha); falhas contam no mínimo como failure-penalty
+     */
+    public void onComplete(ServiceInstance instance, long rttNanos, boolean failed) {
+        Stats instanceStats = stats(instance);
+        instanceStats.outstanding.decrementAndGet();
+        instanceStats.observe(failed ? Math.max(rttNanos, failurePenaltyNanos) : rttNanos, System.nanoTime());
+    }
+
+    /**
+     * Requisição encerrada sem medição (cancelada)
+     */
+    public void onDiscard(ServiceInstance instance) {
+        stats(instance).outstanding.decrementAndGet();
+    }
+
+    /**
+     * Descartar instâncias sem tráfego há mais de idle-timeout (saíram do Eureka)
+     */
+    @EventListener(HeartbeatEvent.class)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int before = stats.size();
+        stats.values().removeIf(instanceStats -> instanceStats.isIdle(now, idleTimeoutNanos));
+        if (stats.size() < before) {
+            log.debug("Estatísticas de {} instâncias sem tráfego descartadas", before - stats.size());
+        }
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private Stats stats(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> new Stats());
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + '|' + instance.getHost() + ':' + instance.getPort();
+    }
+
+    private final class Stats {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile long lastUsed = System.nanoTime();
+
+        // Protegidos por this
+        private double ewmaNanos;
+        private long stamp = System.nanoTime();
+
+        synchronized void observe(double rttNanos, long now) {
+            if (rttNanos > ewmaNanos) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-Math.max(0, now - stamp) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+            }
+            stamp = now;
+            lastUsed = now;
+        }
+
+        synchronized double cost(long now) {
+            lastUsed = now;
+            int pending = Math.max(0, outstanding.get());
+            if (ewmaNanos == 0 && pending > 0) {
+                // Instância nova com requisições pendentes: ainda sem latência medida
+                return failurePenaltyNanos + pending;
+            }
+            double weight = Math.exp(-Math.max(0, now - stamp) / decayNanos);
+            return ewmaNanos * weight * (pending + 1);
+        }
+
+        boolean isIdle(long now, long idleTimeoutNanos) {
+            return outstanding.get() <= 0 && now - lastUsed > idleTimeoutNanos;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.common.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Filtro que liga o log de debug apenas para a requisição atual
+ *
+ * Quando o cabeçalho X-Debug-Log traz o token configurado em
+ * logging.request-debug.token, a chave debugLog é colocada no MDC e o
+ * RequestDebugTurboFilter libera DEBUG para esta requisição. Sem token
+ * configurado o recurso fica desligado.
+ *
+ * Fora do component scan dos serviços: cada serviço servlet registra o filtro com
+ * @Import(RequestDebugFilter.class) na classe da aplicação.
+ */
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestDebugFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Debug-Log";
+    public static final String MDC_KEY = "debugLog";
+
+    private final byte[] token;
+
+    public RequestDebugFilter(@Value("${logging.request-debug.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        if (!isDebugRequested(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        MDC.put(MDC_KEY, "true");
+        try {
+            log.debug("Log de debug ligado para {} {}", request.getMethod(), request.getRequestURI());
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    /**
+     * Token obrigatório: o cabeçalho sozinho permitiria a qualquer cliente inundar o log
+     */
+    private boolean isDebugRequested(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        if (token.length == 0 || !StringUtils.hasText(header)) {
+            return false;
+        }
+        return MessageDigest.isEqual(token, header.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * TurboFilter do Logback que libera DEBUG nas requisições marcadas pelo RequestDebugFilter
+ *
+ * Só atua nos loggers listados em loggers (prefixos separados por vírgula) e a partir
+ * do nível configurado. Fora de uma requisição marcada custa uma leitura do MDC.
+ */
+public class RequestDebugTurboFilter extends TurboFilter {
+
+    private String[] loggers = new String[0];
+    private Level level = Level.DEBUG;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel,
+                              String format, Object[] params, Throwable t) {
+        if (!isStarted() || MDC.get(RequestDebugFilter.MDC_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!eventLevel.isGreaterOrEqual(level) || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.ACCEPT;
+    }
+
+    private boolean matches(String loggerName) {
+        for (String prefix : loggers) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void setLoggers(String loggers) {
+        this.loggers = loggers.isBlank() ? new String[0] : loggers.trim().split("\\s*,\\s*");
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.DEBUG);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Tipos de tráfego reproduzidos pelo teste de carga
+ */
+enum Endpoint {
+
+    BROWSE("browse", "GET /api/products/{id}"),
+    SEARCH("search", "GET /api/products/search"),
+    CHECKOUT("checkout", "POST /api/v1/orders"),
+    CANCEL("cancel", "PATCH /api/v1/orders/{id}/cancel");
+
+    private final String name;
+    private final String description;
+
+    Endpoint(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+
+    String getName() { return name; }
+    String getDescription() { return description; }
+
+    static Endpoint fromName(String name) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.name.equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Endpoint desconhecido: " + name));
+    }
+}
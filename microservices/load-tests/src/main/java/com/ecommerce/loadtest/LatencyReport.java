@@ -0,0 +1,113 @@
+package com.ecommerce.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resultado do teste de carga: histograma de latência e erros por endpoint
+ * Valores registrados em microssegundos e exibidos em milissegundos.
+ */
+@Slf4j
+class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final long elapsedNanos;
+    private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+
+    LatencyReport(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void add(Endpoint endpoint, Histogram histogram, long errorCount) {
+        histograms.put(endpoint, histogram);
+        errors.put(endpoint, errorCount);
+    }
+
+    /**
+     * Imprimir o resumo por endpoint
+     */
+    void print(PrintStream out) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        out.println();
+        out.printf("%-10s %-36s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "rota", "total", "erros", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        histograms.forEach((endpoint, histogram) -> {
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                return;
+            }
+            out.printf("%-10s %-36s %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.getName(), endpoint.getDescription(), count, errors.get(endpoint), count / seconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        });
+        out.println();
+    }
+
+    /**
+     * Gravar a distribuição completa de cada endpoint em formato .hgrm
+     * (pode ser comparada entre execuções no HdrHistogram plotter)
+     */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Endpoint, Histogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getTotalCount() == 0) {
+                continue;
+            }
+            Path file = directory.resolve(entry.getKey().getName() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, "UTF-8")) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        log.info("Distribuições de latência gravadas em {}", directory.toAbsolutePath());
+    }
+
+    /**
+     * Verificar os limites configurados
+     * Retorna a lista de violações (vazia quando o teste passou)
+     */
+    List<String> violations(LoadTestSettings settings) {
+        List<String> violations = new ArrayList<>();
+
+        long total = histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        long totalErrors = errors.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            violations.add("Nenhuma requisição concluída");
+            return violations;
+        }
+        double errorRate = totalErrors / (double) total;
+        if (errorRate > settings.maxErrorRate()) {
+            violations.add(String.format("Taxa de erros %.2f%% acima do limite de %.2f%%",
+                    errorRate * 100, settings.maxErrorRate() * 100));
+        }
+
+        settings.maxP99Millis().forEach((endpoint, limit) -> {
+            Histogram histogram = histograms.get(endpoint);
+            if (histogram == null || histogram.getTotalCount() == 0) {
+                return;
+            }
+            double p99 = millis(histogram.getValueAtPercentile(99));
+            if (p99 > limit) {
+                violations.add(String.format("p99 de %s = %.2fms acima do limite de %dms", endpoint.getName(), p99, limit));
+            }
+        });
+        return violations;
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Teste de carga de ponta a ponta
+ *
+ * Sobe User, Product e Order Service na mesma JVM (H2, sem Eureka nem Config Server),
+ * reproduz um mix de tráfego (navegação, busca, checkout, cancelamento) a uma taxa fixa
+ * e imprime os histogramas de latência por endpoint. Termina com código 1 quando a
+ * taxa de erros ou o p99 passam dos limites, para falhar o build no CI.
+ *
+ * Execução: mvn -pl load-tests -am verify -Pload-test -Dloadtest.rate=100
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<String> violations;
+
+        try (ServiceCluster cluster = new ServiceCluster()) {
+            cluster.start(settings.reportDir().toString());
+
+            TrafficGenerator generator = new TrafficGenerator(settings, cluster);
+            generator.prepare();
+            LatencyReport report = generator.run();
+
+            report.print(System.out);
+            report.writeDistributions(settings.reportDir());
+            violations = report.violations(settings);
+        }
+
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> log.error("Limite violado: {}", violation));
+            System.exit(1);
+        }
+        log.info("Teste de carga concluído dentro dos limites");
+        System.exit(0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Acesso livre às APIs de produtos e pedidos durante o teste de carga
+ *
+ * Order Service e Product Service ainda não validam o JWT emitido pelo User Service,
+ * então o gerador de tráfego não teria como se autenticar. Esta cadeia tem precedência
+ * sobre a do serviço apenas para /api/**; o User Service mantém sua segurança JWT.
+ */
+@Configuration
+public class LoadTestSecurity {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain loadTestApiFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/api/**")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(authz -> authz.anyRequest().permitAll());
+        return http.build();
+    }
+}
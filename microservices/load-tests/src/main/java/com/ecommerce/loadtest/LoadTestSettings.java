@@ -0,0 +1,59 @@
+package com.ecommerce.loadtest;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Parâmetros do teste de carga, lidos das propriedades de sistema (-Dloadtest.*)
+ *
+ * @param rate              requisições por segundo (modelo aberto: não espera respostas)
+ * @param warmupSeconds     aquecimento descartado do relatório
+ * @param durationSeconds   duração da medição
+ * @param concurrency       threads que executam as requisições
+ * @param mix               peso de cada tipo de tráfego (ex: browse:50,search:25,checkout:20,cancel:5)
+ * @param maxErrorRate      fração máxima de erros antes de falhar o build
+ * @param maxP99Millis      p99 máximo por endpoint (ex: checkout:500); vazio = sem limite
+ * @param reportDir         diretório dos arquivos .hgrm
+ */
+record LoadTestSettings(int rate,
+                        int warmupSeconds,
+                        int durationSeconds,
+                        int concurrency,
+                        Map<Endpoint, Integer> mix,
+                        double maxErrorRate,
+                        Map<Endpoint, Long> maxP99Millis,
+                        Path reportDir) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.rate", 50),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 60),
+                Integer.getInteger("loadtest.concurrency", 64),
+                parse(System.getProperty("loadtest.mix", "browse:50,search:25,checkout:20,cancel:5"), Integer::valueOf),
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01")),
+                parse(System.getProperty("loadtest.max-p99-ms", ""), Long::valueOf),
+                Path.of(System.getProperty("loadtest.report-dir", "target/load-test")));
+    }
+
+    /**
+     * Ler pares endpoint:valor separados por vírgula
+     */
+    private static <T> Map<Endpoint, T> parse(String value, Function<String, T> converter) {
+        if (value == null || value.isBlank()) {
+            return Collections.emptyMap();
+        }
+        Map<Endpoint, T> result = new EnumMap<>(Endpoint.class);
+        for (String pair : value.split(",")) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Valor inválido: " + pair + " (esperado endpoint:valor)");
+            }
+            result.put(Endpoint.fromName(parts[0].trim()), converter.apply(parts[1].trim()));
+        }
+        return result;
+    }
+}
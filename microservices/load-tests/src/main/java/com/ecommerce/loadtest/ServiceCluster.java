@@ -0,0 +1,126 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.orderservice.OrderServiceApplication;
+import com.ecommerce.productservice.ProductServiceApplication;
+import com.ecommerce.userservice.UserServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.RequestInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * User, Product e Order Service na mesma JVM, cada um em seu próprio contexto Spring
+ *
+ * Substitutos locais da infraestrutura:
+ * - Config Server: arquivos loadtest/*.yml do classpath (spring.config.location)
+ * - MySQL: um banco H2 em memória por serviço
+ * - Eureka: desabilitado; o Order Service recebe as URLs reais via services.*.url
+ */
+@Slf4j
+class ServiceCluster implements AutoCloseable {
+
+    private static final String ADMIN_EMAIL = "admin@ecommerce.com";
+    private static final String ADMIN_PASSWORD = "admin123";
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String userServiceUrl;
+    private String productServiceUrl;
+    private String orderServiceUrl;
+    private String adminToken;
+
+    /**
+     * Subir os serviços na ordem de dependência
+     */
+    void start(String reportDir) throws IOException, InterruptedException {
+        log.info("Subindo User Service...");
+        userServiceUrl = baseUrl(startService("user-service", reportDir,
+                new SpringApplicationBuilder(UserServiceApplication.class)));
+
+        log.info("Subindo Product Service...");
+        productServiceUrl = baseUrl(startService("product-service", reportDir,
+                new SpringApplicationBuilder(ProductServiceApplication.class, LoadTestSecurity.class)));
+
+        // O User Service exige JWT: as chamadas Feign do Order Service usam o token do admin
+        adminToken = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+        String token = adminToken;
+        RequestInterceptor userServiceAuth = template -> {
+            if ("user-service".equals(template.feignTarget().name())) {
+                template.header("Authorization", "Bearer " + token);
+            }
+        };
+
+        ApplicationContextInitializer<ConfigurableApplicationContext> registerUserServiceAuth = context ->
+                context.getBeanFactory().registerSingleton("loadTestUserServiceAuth", userServiceAuth);
+
+        log.info("Subindo Order Service...");
+        orderServiceUrl = baseUrl(startService("order-service", reportDir,
+                new SpringApplicationBuilder(OrderServiceApplication.class, LoadTestSecurity.class)
+                        .properties(
+                                "services.user-service.url=" + userServiceUrl,
+                                "services.product-service.url=" + productServiceUrl)
+                        .initializers(registerUserServiceAuth)));
+
+        log.info("Serviços no ar - user: {}, product: {}, order: {}", userServiceUrl, productServiceUrl, orderServiceUrl);
+    }
+
+    String userServiceUrl() { return userServiceUrl; }
+    String productServiceUrl() { return productServiceUrl; }
+    String orderServiceUrl() { return orderServiceUrl; }
+    String adminToken() { return adminToken; }
+
+    @Override
+    public void close() {
+        // Ordem inversa: o Order Service depende dos demais
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private ConfigurableApplicationContext startService(String name, String reportDir, SpringApplicationBuilder builder) {
+        ConfigurableApplicationContext context = builder
+                .properties(
+                        "spring.config.location=classpath:/loadtest/" + name + ".yml",
+                        "loadtest.report-dir=" + reportDir)
+                .logStartupInfo(false)
+                .run();
+        contexts.add(context);
+        return context;
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    private String login(String email, String password) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(userServiceUrl + "/api/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Falha no login do admin: " + response.statusCode() + " " + response.body());
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("token").asText();
+    }
+}
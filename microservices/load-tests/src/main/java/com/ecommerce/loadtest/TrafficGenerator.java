@@ -0,0 +1,278 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de tráfego em modelo aberto
+ *
+ * As requisições são disparadas em intervalos fixos (1 / rate), independentemente
+ * das respostas. A latência é medida a partir do horário planejado de cada envio,
+ * então a fila formada quando o sistema fica lento também entra na medição
+ * (sem o viés de "coordinated omission").
+ */
+@Slf4j
+class TrafficGenerator {
+
+    private static final String JSON = "application/json";
+    private static final int STOCK_TOP_UP = 1_000_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestSettings settings;
+    private final ServiceCluster cluster;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+    private final Queue<Long> cancellableOrders = new ConcurrentLinkedQueue<>();
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    private List<Long> productIds;
+    private List<String> searchTerms;
+    private List<Long> userIds;
+
+    TrafficGenerator(LoadTestSettings settings, ServiceCluster cluster) {
+        this.settings = settings;
+        this.cluster = cluster;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(3));
+            errors.put(endpoint, new AtomicLong());
+        }
+
+        this.endpoints = settings.mix().keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += settings.mix().get(endpoints[i]);
+            cumulativeWeights[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("loadtest.mix precisa de pelo menos um peso positivo");
+        }
+    }
+
+    /**
+     * Carregar catálogo e usuários e repor o estoque para o teste não esgotar produtos
+     */
+    void prepare() throws IOException, InterruptedException {
+        JsonNode products = getJson(cluster.productServiceUrl() + "/api/products", null);
+        productIds = new ArrayList<>();
+        searchTerms = new ArrayList<>();
+        for (JsonNode product : products) {
+            productIds.add(product.get("id").asLong());
+            searchTerms.add(product.get("name").asText().split(" ")[0]);
+        }
+
+        JsonNode users = getJson(cluster.userServiceUrl() + "/api/users/active", cluster.adminToken());
+        userIds = new ArrayList<>();
+        users.forEach(user -> userIds.add(user.get("id").asLong()));
+
+        for (Long productId : productIds) {
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "product_id", productId, "quantity", STOCK_TOP_UP, "operation", "INCREASE"));
+            HttpResponse<String> response = send(request(cluster.productServiceUrl() + "/api/products/stock")
+                    .header("Content-Type", JSON)
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Falha ao repor estoque do produto " + productId + ": " + response.body());
+            }
+        }
+
+        if (productIds.isEmpty() || userIds.isEmpty()) {
+            throw new IllegalStateException("Catálogo ou usuários vazios - verifique os DataLoaders");
+        }
+        log.info("Tráfego preparado - {} produtos, {} usuários", productIds.size(), userIds.size());
+    }
+
+    /**
+     * Aquecimento (descartado) seguido da medição
+     */
+    LatencyReport run() throws InterruptedException {
+        log.info("Aquecimento: {}s a {} req/s", settings.warmupSeconds(), settings.rate());
+        runPhase(settings.warmupSeconds());
+        resetRecorders();
+
+        log.info("Medição: {}s a {} req/s - mix {}", settings.durationSeconds(), settings.rate(), settings.mix());
+        long start = System.nanoTime();
+        runPhase(settings.durationSeconds());
+        long elapsedNanos = System.nanoTime() - start;
+
+        LatencyReport report = new LatencyReport(elapsedNanos);
+        recorders.forEach((endpoint, recorder) ->
+                report.add(endpoint, recorder.getIntervalHistogram(), errors.get(endpoint).get()));
+        return report;
+    }
+
+    // ============= EXECUÇÃO =============
+
+    private void runPhase(int seconds) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long total = (long) settings.rate() * seconds;
+        long phaseStart = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long intendedStart = phaseStart + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pickEndpoint();
+            workers.execute(() -> execute(endpoint, intendedStart));
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+            log.warn("Requisições pendentes ao fim da fase foram descartadas");
+            workers.shutdownNow();
+        }
+    }
+
+    private void execute(Endpoint endpoint, long intendedStart) {
+        // Sem pedido para cancelar ainda: o envio vira um checkout
+        Long orderId = null;
+        if (endpoint == Endpoint.CANCEL) {
+            orderId = cancellableOrders.poll();
+            if (orderId == null) {
+                endpoint = Endpoint.CHECKOUT;
+            }
+        }
+
+        boolean success;
+        try {
+            success = switch (endpoint) {
+                case BROWSE -> browse();
+                case SEARCH -> search();
+                case CHECKOUT -> checkout();
+                case CANCEL -> cancel(orderId);
+            };
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+        recorders.get(endpoint).recordValue(Math.max(latencyMicros, 1));
+        if (!success) {
+            errors.get(endpoint).incrementAndGet();
+        }
+    }
+
+    private boolean browse() throws IOException, InterruptedException {
+        Long productId = randomFrom(productIds);
+        return send(request(cluster.productServiceUrl() + "/api/products/" + productId)
+                .GET()
+                .build()).statusCode() == 200;
+    }
+
+    private boolean search() throws IOException, InterruptedException {
+        String term = URLEncoder.encode(randomFrom(searchTerms), StandardCharsets.UTF_8);
+        return send(request(cluster.productServiceUrl() + "/api/products/search?q=" + term)
+                .GET()
+                .build()).statusCode() == 200;
+    }
+
+    private boolean checkout() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int itemCount = 1 + random.nextInt(3);
+        List<Map<String, Object>> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(Map.of("product_id", randomFrom(productIds), "quantity", 1 + random.nextInt(2)));
+        }
+        String body = objectMapper.writeValueAsString(Map.of(
+                "user_id", randomFrom(userIds),
+                "items", items,
+                "shipping_address", "Rua das Flores, 123 - Centro - São Paulo/SP - 01234-567",
+                "payment_method", "CREDIT_CARD"));
+
+        HttpResponse<String> response = send(request(cluster.orderServiceUrl() + "/api/v1/orders")
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+        if (response.statusCode() != 201) {
+            return false;
+        }
+        cancellableOrders.offer(objectMapper.readTree(response.body()).get("id").asLong());
+        return true;
+    }
+
+    private boolean cancel(Long orderId) throws IOException, InterruptedException {
+        return send(request(cluster.orderServiceUrl() + "/api/v1/orders/" + orderId + "/cancel?reason=load-test")
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build()).statusCode() == 200;
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private Endpoint pickEndpoint() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private void resetRecorders() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(counter -> counter.set(0));
+    }
+
+    private JsonNode getJson(String url, String bearerToken) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = request(url).GET();
+        if (bearerToken != null) {
+            builder.header("Authorization", "Bearer " + bearerToken);
+        }
+        HttpResponse<String> response = send(builder.build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " retornou " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static <T> T randomFrom(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
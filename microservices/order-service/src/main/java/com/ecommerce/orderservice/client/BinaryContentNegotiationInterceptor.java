@@ -0,0 +1,32 @@
+package com.ecommerce.orderservice.client;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pede CBOR nas respostas das chamadas Feign (order.feign.cbor.enabled)
+ *
+ * JSON continua aceito com prioridade menor: um serviço sem o conversor CBOR
+ * responde JSON e o SpringDecoder escolhe o conversor pelo Content-Type.
+ */
+@Component
+public class BinaryContentNegotiationInterceptor implements RequestInterceptor {
+
+    public static final String ACCEPT_CBOR = "application/cbor, application/json;q=0.9";
+
+    private final boolean enabled;
+
+    public BinaryContentNegotiationInterceptor(@Value("${order.feign.cbor.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (enabled && !template.headers().containsKey(HttpHeaders.ACCEPT)) {
+            template.header(HttpHeaders.ACCEPT, ACCEPT_CBOR);
+        }
+    }
+}
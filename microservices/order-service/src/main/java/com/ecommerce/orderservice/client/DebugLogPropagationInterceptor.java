@@ -0,0 +1,31 @@
+package com.ecommerce.orderservice.client;
+
+import com.ecommerce.common.logging.RequestDebugFilter;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repassa o cabeçalho X-Debug-Log nas chamadas Feign
+ *
+ * Uma requisição com debug ligado no Order Service também gera log de debug
+ * no User Service e no Product Service (mesmo token em todos os serviços).
+ */
+@Component
+public class DebugLogPropagationInterceptor implements RequestInterceptor {
+
+    private final String token;
+
+    public DebugLogPropagationInterceptor(@Value("${logging.request-debug.token:}") String token) {
+        this.token = token;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (!token.isEmpty() && MDC.get(RequestDebugFilter.MDC_KEY) != null) {
+            template.header(RequestDebugFilter.HEADER, token);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ecommerce.orderservice.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Limite de conexões por instância de cada serviço chamado via Feign
+ *
+ * O pool do HttpClient separa conexões por rota (host:porta). A cada busca do
+ * registro do Eureka as instâncias do serviço recebem o limite de
+ * order.feign.pool.services.<serviço>.max-per-route; serviços sem valor próprio
+ * usam order.feign.pool.max-per-route.
+ *
+ * Uso do pool por serviço em feign.client.pool.connections (tags client e state).
+ */
+@Slf4j
+@Component
+public class FeignConnectionPoolLimits {
+
+    private static final String PROPERTY_PREFIX = "order.feign.pool.services.";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final DiscoveryClient discoveryClient;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Set<HttpRoute>> routes = new ConcurrentHashMap<>();
+
+    public FeignConnectionPoolLimits(PoolingHttpClientConnectionManager feignConnectionManager,
+                                     DiscoveryClient discoveryClient,
+                                     Environment environment,
+                                     MeterRegistry meterRegistry) {
+        this.connectionManager = feignConnectionManager;
+        this.discoveryClient = discoveryClient;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(HeartbeatEvent.class)
+    public void refresh() {
+        try {
+            for (String serviceId : discoveryClient.getServices()) {
+                Integer maxPerRoute = environment.getProperty(PROPERTY_PREFIX + serviceId + ".max-per-route", Integer.class);
+                if (maxPerRoute != null) {
+                    apply(serviceId, maxPerRoute);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível atualizar os limites do pool de conexões Feign: {}", e.getMessage());
+        }
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private void apply(String serviceId, int maxPerRoute) {
+        Set<HttpRoute> current = discoveryClient.getInstances(serviceId).stream()
+                .map(FeignConnectionPoolLimits::route)
+                .collect(Collectors.toUnmodifiableSet());
+        current.forEach(route -> connectionManager.setMaxPerRoute(route, maxPerRoute));
+
+        Set<HttpRoute> previous = routes.put(serviceId, current);
+        if (previous == null) {
+            registerGauges(serviceId);
+            log.info("Pool de conexões Feign - serviço: {}, máximo por instância: {}", serviceId, maxPerRoute);
+        }
+    }
+
+    private void registerGauges(String serviceId) {
+        gauge(serviceId, "leased", PoolStats::getLeased);
+        gauge(serviceId, "available", PoolStats::getAvailable);
+        gauge(serviceId, "pending", PoolStats::getPending);
+    }
+
+    private void gauge(String serviceId, String state, ToIntFunction<PoolStats> value) {
+        Gauge.builder("feign.client.pool.connections", () -> routes.getOrDefault(serviceId, Set.of()).stream()
+                        .mapToInt(route -> value.applyAsInt(connectionManager.getStats(route)))
+                        .sum())
+                .tag("client", serviceId)
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    private static HttpRoute route(ServiceInstance instance) {
+        HttpHost target = new HttpHost(instance.isSecure() ? "https" : "http", instance.getHost(), instance.getPort());
+        return new HttpRoute(target, null, instance.isSecure());
+    }
+}
@@ -0,0 +1,308 @@
+package com.ecommerce.orderservice.client;
+
+import com.ecommerce.orderservice.loadbalancer.HedgeInstanceRegistry;
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Hedge de leituras idempotentes nos Feign clients (opcional, order.hedging.enabled)
+ *
+ * Para os métodos GET em order.hedging.methods: se a primeira tentativa não responder
+ * dentro do percentil observado (p95 por padrão) das latências do método, uma segunda
+ * tentativa vai para outra instância (HedgeAwareLoadBalancer exclui a instância da
+ * primeira pelo cabeçalho X-Hedge-Id) e vale a primeira resposta. A outra é fechada
+ * quando chegar.
+ *
+ * Orçamento global: cada chamada elegível acumula budget-percent % de um hedge, até
+ * MAX_BUDGET_HEDGES hedges guardados; sem saldo a chamada só espera a primeira tentativa.
+ *
+ * As tentativas rodam num pool próprio (contexto de tracing e MDC copiados); pool cheio
+ * = chamada sem hedge na thread atual. Métrica feign.client.hedges por result
+ * (primary_won, hedge_won, budget_exhausted, rejected).
+ */
+@Slf4j
+@Component
+@Order(HedgingFeignCapability.ORDER)
+public class HedgingFeignCapability implements Capability {
+
+    /**
+     * Mais externa das três: cada tentativa passa pela métrica e pelo circuit breaker/bulkhead
+     */
+    public static final int ORDER = MeteredFeignCapability.ORDER + 100;
+
+    public static final String HEDGE_HEADER = "X-Hedge-Id";
+
+    private static final String UNKNOWN = "unknown";
+    private static final long TOKENS_PER_HEDGE = 10_000;
+    private static final long MAX_BUDGET_HEDGES = 10;
+
+    private final boolean enabled;
+    private final Set<String> methods;
+    private final double percentile;
+    private final long depositPerCall;
+    private final long minDelayNanos;
+    private final MeterRegistry meterRegistry;
+    private final HedgeInstanceRegistry hedgeRegistry;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong budget = new AtomicLong();
+
+    public HedgingFeignCapability(MeterRegistry meterRegistry,
+                                  HedgeInstanceRegistry hedgeRegistry,
+                                  @Value("${order.hedging.enabled:false}") boolean enabled,
+                                  @Value("${order.hedging.methods:getProductById,getUserById}") String methods,
+                                  @Value("${order.hedging.percentile:0.95}") double percentile,
+                                  @Value("${order.hedging.budget-percent:5}") double budgetPercent,
+                                  @Value("${order.hedging.min-delay:5ms}") Duration minDelay,
+                                  @Value("${order.hedging.threads:32}") int threads) {
+        this.meterRegistry = meterRegistry;
+        this.hedgeRegistry = hedgeRegistry;
+        this.enabled = enabled;
+        this.methods = Arrays.stream(methods.split(","))
+                .map(String::trim)
+                .filter(method -> !method.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.percentile = percentile;
+        this.depositPerCall = Math.round(TOKENS_PER_HEDGE * budgetPercent / 100);
+        this.minDelayNanos = minDelay.toNanos();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, Math.max(2, threads), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "feign-hedge-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        if (enabled) {
+            log.info("Hedge de leituras habilitado - métodos: {}, p{}, orçamento {}%",
+                    this.methods, Math.round(percentile * 100), budgetPercent);
+        }
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        if (!enabled) {
+            return client;
+        }
+        return (request, options) -> {
+            if (request.httpMethod() != Request.HttpMethod.GET || !methods.contains(methodName(request))) {
+                return client.execute(request, options);
+            }
+            return executeHedged(client, request, options);
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ============= HEDGE =============
+
+    private Response executeHedged(Client delegate, Request request, Request.Options options) throws IOException {
+        String target = targetName(request);
+        String method = methodName(request);
+        LatencyWindow window = windows.computeIfAbsent(target + '.' + method, key -> new LatencyWindow(percentile));
+        depositBudget();
+
+        String hedgeId = UUID.randomUUID().toString();
+        Request tagged = withHedgeHeader(request, hedgeId);
+        try {
+            CompletableFuture<Response> primary;
+            try {
+                primary = submit(delegate, tagged, options, window);
+            } catch (RejectedExecutionException e) {
+                count(target, method, "rejected");
+                return timed(delegate, request, options, window);
+            }
+
+            long delayNanos = window.percentileNanos();
+            if (delayNanos < 0) {
+                return await(primary);
+            }
+            try {
+                return unwrap(primary, Math.max(delayNanos, minDelayNanos));
+            } catch (TimeoutException e) {
+                // Primeira tentativa acima do percentil: segue para o hedge
+            }
+
+            if (!tryConsumeBudget()) {
+                count(target, method, "budget_exhausted");
+                return await(primary);
+            }
+            CompletableFuture<Response> hedge;
+            try {
+                hedge = submit(delegate, tagged, options, window);
+            } catch (RejectedExecutionException e) {
+                budget.addAndGet(TOKENS_PER_HEDGE);
+                count(target, method, "rejected");
+                return await(primary);
+            }
+
+            log.debug("Hedge enviado para {}.{} após {} ms", target, method, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+            CompletableFuture<Response> winner = new CompletableFuture<>();
+            AtomicInteger failures = new AtomicInteger();
+            List.of(primary, hedge).forEach(attempt -> attempt.whenComplete((response, error) -> {
+                if (error == null) {
+                    if (!winner.complete(response)) {
+                        response.close();
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            }));
+
+            Response response = await(winner);
+            boolean hedgeWon = hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.getNow(null) == response;
+            count(target, method, hedgeWon ? "hedge_won" : "primary_won");
+            return response;
+        } finally {
+            hedgeRegistry.clear(hedgeId);
+        }
+    }
+
+    private CompletableFuture<Response> submit(Client delegate, Request request, Request.Options options,
+                                               LatencyWindow window) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        ContextSnapshot snapshot = ContextSnapshot.captureAll();
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try (ContextSnapshot.Scope scope = snapshot.setThreadLocals()) {
+                future.complete(timed(delegate, request, options, window));
+            } catch (IOException | RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                MDC.clear();
+            }
+        });
+        return future;
+    }
+
+    private static Response timed(Client delegate, Request request, Request.Options options,
+                                  LatencyWindow window) throws IOException {
+        long start = System.nanoTime();
+        Response response = delegate.execute(request, options);
+        window.record(System.nanoTime() - start);
+        return response;
+    }
+
+    // ============= ORÇAMENTO =============
+
+    private void depositBudget() {
+        long max = TOKENS_PER_HEDGE * MAX_BUDGET_HEDGES;
+        budget.getAndUpdate(current -> Math.min(max, current + depositPerCall));
+    }
+
+    private boolean tryConsumeBudget() {
+        while (true) {
+            long current = budget.get();
+            if (current < TOKENS_PER_HEDGE) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - TOKENS_PER_HEDGE)) {
+                return true;
+            }
+        }
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private static Response unwrap(CompletableFuture<Response> future, long timeoutNanos)
+            throws IOException, TimeoutException {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Chamada Feign interrompida");
+        }
+    }
+
+    private static Response await(CompletableFuture<Response> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Chamada Feign interrompida");
+        }
+    }
+
+    private static IOException rethrow(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(cause);
+    }
+
+    private static Request withHedgeHeader(Request request, String hedgeId) {
+        Map<String, Collection<String>> headers = new HashMap<>(request.headers());
+        headers.put(HEDGE_HEADER, List.of(hedgeId));
+        return Request.create(request.httpMethod(), request.url(), headers,
+                request.body(), request.charset(), request.requestTemplate());
+    }
+
+    private void count(String target, String method, String result) {
+        meterRegistry.counter("feign.client.hedges", "client", target, "method", method, "result", result).increment();
+    }
+
+    private static String targetName(Request request) {
+        if (request.requestTemplate() == null || request.requestTemplate().feignTarget() == null) {
+            return UNKNOWN;
+        }
+        return request.requestTemplate().feignTarget().name();
+    }
+
+    private static String methodName(Request request) {
+        if (request.requestTemplate() == null || request.requestTemplate().methodMetadata() == null) {
+            return UNKNOWN;
+        }
+        return request.requestTemplate().methodMetadata().method().getName();
+    }
+}
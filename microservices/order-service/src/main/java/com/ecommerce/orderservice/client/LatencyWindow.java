@@ -0,0 +1,41 @@
+package com.ecommerce.orderservice.client;
+
+import java.util.Arrays;
+
+/**
+ * Últimas latências de um método Feign e o percentil usado como atraso do hedge
+ *
+ * Buffer circular de tamanho fixo; o percentil é recalculado a cada
+ * RECOMPUTE_EVERY amostras (ordenação de uma cópia), não a cada chamada.
+ */
+final class LatencyWindow {
+
+    private static final int SIZE = 512;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final long[] samples = new long[SIZE];
+    private final double percentile;
+    private long count;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(double percentile) {
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[(int) (count % SIZE)] = nanos;
+        count++;
+        if (count % RECOMPUTE_EVERY == 0) {
+            long[] copy = Arrays.copyOf(samples, (int) Math.min(count, SIZE));
+            Arrays.sort(copy);
+            percentileNanos = copy[(int) Math.min(copy.length - 1, Math.ceil(percentile * copy.length) - 1)];
+        }
+    }
+
+    /**
+     * Percentil observado; -1 enquanto não houver amostras suficientes
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
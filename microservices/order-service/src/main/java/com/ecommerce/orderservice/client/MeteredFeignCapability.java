@@ -0,0 +1,138 @@
+package com.ecommerce.orderservice.client;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas das chamadas Feign entre serviços (User Service e Product Service)
+ *
+ * Envolve o Client de todos os Feign clients e registra, com as tags client (serviço
+ * de destino) e method (método da interface):
+ * - feign.client.requests: timer por status e outcome (percentis e SLOs em order-service.yml)
+ * - feign.client.errors: respostas 4xx/5xx e falhas de I/O por status
+ * - feign.client.in.flight: chamadas em andamento
+ * - feign.client.request.size / feign.client.response.size: bytes do corpo
+ *
+ * Única fonte de tempo das chamadas Feign (o timer do feign-micrometer é descartado em
+ * FeignMetricsConfig). Envolve a ResilientFeignCapability: chamadas recusadas pelo
+ * circuit breaker ou pelo bulkhead entram com status REJECTED. Fica dentro da
+ * HedgingFeignCapability, então cada tentativa de um hedge é medida separadamente.
+ */
+@Component
+@Order(MeteredFeignCapability.ORDER)
+public class MeteredFeignCapability implements Capability {
+
+    public static final int ORDER = ResilientFeignCapability.ORDER + 100;
+
+    private static final String UNKNOWN = "unknown";
+    private static final String IO_ERROR = "IO_ERROR";
+    private static final String REJECTED = "REJECTED";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Tags, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public MeteredFeignCapability(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> execute(client, request, options);
+    }
+
+    private Response execute(Client delegate, Request request, Request.Options options) throws IOException {
+        Tags tags = Tags.of("client", targetName(request), "method", methodName(request));
+        AtomicInteger active = inFlight.computeIfAbsent(tags, this::registerInFlightGauge);
+        byteSummary("feign.client.request.size", tags).record(request.body() != null ? request.body().length : 0);
+
+        active.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            Response response = delegate.execute(request, options);
+            Outcome outcome = Outcome.forStatus(response.status());
+            String status = String.valueOf(response.status());
+
+            recordTimer(tags.and("status", status, "outcome", outcome.name()), start);
+            if (outcome == Outcome.CLIENT_ERROR || outcome == Outcome.SERVER_ERROR) {
+                meterRegistry.counter("feign.client.errors", tags.and("status", status)).increment();
+            }
+            if (response.body() != null && response.body().length() != null) {
+                byteSummary("feign.client.response.size", tags).record(response.body().length());
+            }
+            return response;
+
+        } catch (IOException | RuntimeException e) {
+            String status = isRejected(e) ? REJECTED : IO_ERROR;
+            recordTimer(tags.and("status", status, "outcome", Outcome.UNKNOWN.name()), start);
+            meterRegistry.counter("feign.client.errors", tags.and("status", status)).increment();
+            throw e;
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private void recordTimer(Tags tags, long start) {
+        Timer.builder("feign.client.requests")
+                .description("Duração das chamadas Feign a outros serviços")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private DistributionSummary byteSummary(String name, Tags tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private AtomicInteger registerInFlightGauge(Tags tags) {
+        AtomicInteger active = new AtomicInteger();
+        Gauge.builder("feign.client.in.flight", active, AtomicInteger::get)
+                .description("Chamadas Feign em andamento")
+                .tags(tags)
+                .register(meterRegistry);
+        return active;
+    }
+
+    /**
+     * Recusada pela ResilientFeignCapability, sem chegar ao serviço
+     */
+    private static boolean isRejected(Exception e) {
+        return e.getCause() instanceof BulkheadFullException || e.getCause() instanceof CallNotPermittedException;
+    }
+
+    private static String targetName(Request request) {
+        if (request.requestTemplate() == null || request.requestTemplate().feignTarget() == null) {
+            return UNKNOWN;
+        }
+        return request.requestTemplate().feignTarget().name();
+    }
+
+    private static String methodName(Request request) {
+        if (request.requestTemplate() == null || request.requestTemplate().methodMetadata() == null) {
+            return UNKNOWN;
+        }
+        return request.requestTemplate().methodMetadata().method().getName();
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecommerce.orderservice.client;
 
 import com.ecommerce.orderservice.client.dto.ProductResponseDTO;
+import com.ecommerce.orderservice.client.dto.StockReservationDTO;
+import com.ecommerce.orderservice.client.dto.StockReservationRequestDTO;
 import com.ecommerce.orderservice.client.dto.UpdateStockDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
@@ -13,7 +15,7 @@ import java.util.Map;
  */
 @FeignClient(
         name = "product-service",
-        url = "${services.product-service.url:http://localhost:8082}",
+        url = "${services.product-service.url:}",
         path = "/api/products"
 )
 public interface ProductServiceClient {
@@ -38,4 +40,22 @@ public interface ProductServiceClient {
      */
     @PatchMapping("/stock")
     ResponseEntity<ProductResponseDTO> updateStock(@RequestBody UpdateStockDTO updateStockDTO);
+
+    /**
+     * Reservar estoque de todos os itens do pedido (tudo ou nada)
+     */
+    @PostMapping("/reservations")
+    ResponseEntity<StockReservationDTO> reserveStock(@RequestBody StockReservationRequestDTO request);
+
+    /**
+     * Confirmar reserva após pagamento aprovado
+     */
+    @PostMapping("/reservations/{reference}/commit")
+    ResponseEntity<StockReservationDTO> commitReservation(@PathVariable("reference") String reference);
+
+    /**
+     * Liberar reserva, devolvendo a quantidade ao estoque
+     */
+    @PostMapping("/reservations/{reference}/release")
+    ResponseEntity<StockReservationDTO> releaseReservation(@PathVariable("reference") String reference);
 }
@@ -0,0 +1,98 @@
+package com.ecommerce.orderservice.client;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker e bulkhead nas chamadas Feign (User Service e Product Service)
+ *
+ * Envolve o Client de todos os Feign clients, com um circuit breaker e um bulkhead
+ * por serviço de destino (configuração em ResilienceConfig). O tempo máximo de cada
+ * chamada é o connectTimeout/readTimeout do Feign em order-service.yml.
+ *
+ * Chamada recusada (circuito aberto ou bulkhead cheio) vira IOException, que o Feign
+ * converte em RetryableException: o OrderService trata como qualquer FeignException
+ * de I/O (DOWNSTREAM_FAILURE), sem esperar o timeout do serviço com problema.
+ *
+ * Capability mais interna (menor ORDER): fica logo acima do HttpClient, dentro da
+ * MeteredFeignCapability, então as recusas também são medidas (status REJECTED).
+ */
+@Slf4j
+@Component
+@Order(ResilientFeignCapability.ORDER)
+public class ResilientFeignCapability implements Capability {
+
+    /**
+     * Ordem das Capabilities: o Feign aplica em ordem crescente e cada uma envolve as
+     * anteriores, então a de menor ORDER fica mais perto da chamada HTTP
+     */
+    public static final int ORDER = 100;
+
+    private static final String UNKNOWN = "unknown";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ResilientFeignCapability(CircuitBreakerRegistry circuitBreakerRegistry,
+                                    BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> execute(client, request, options);
+    }
+
+    private Response execute(Client delegate, Request request, Request.Options options) throws IOException {
+        String target = targetName(request);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(target);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(target);
+
+        if (!bulkhead.tryAcquirePermission()) {
+            log.warn("Bulkhead cheio para {} - chamada recusada", target);
+            throw new IOException("Limite de chamadas simultâneas atingido para " + target,
+                    BulkheadFullException.createBulkheadFullException(bulkhead));
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                log.warn("Circuit breaker aberto para {} - chamada recusada", target);
+                throw new IOException("Circuit breaker aberto para " + target,
+                        CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+            }
+
+            long start = System.nanoTime();
+            try {
+                Response response = delegate.execute(request, options);
+                circuitBreaker.onResult(System.nanoTime() - start, TimeUnit.NANOSECONDS, response);
+                return response;
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            }
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private static String targetName(Request request) {
+        if (request.requestTemplate() == null || request.requestTemplate().feignTarget() == null) {
+            return UNKNOWN;
+        }
+        return request.requestTemplate().feignTarget().name();
+    }
+}
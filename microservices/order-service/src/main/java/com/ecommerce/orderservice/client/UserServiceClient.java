@@ -1,17 +1,22 @@
 package com.ecommerce.orderservice.client;
 
 import com.ecommerce.orderservice.client.dto.UserResponseDTO;
+import com.ecommerce.orderservice.client.dto.UserSummaryDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 /**
  * Feign Client para comunicação com o User Service
  */
 @FeignClient(
         name = "user-service",
-        url = "${services.user-service.url:http://localhost:8081}",
+        url = "${services.user-service.url:}",
         path = "/api/users"
 )
 public interface UserServiceClient {
@@ -27,4 +32,10 @@ public interface UserServiceClient {
      */
     @GetMapping("/{id}")
     ResponseEntity<UserResponseDTO> checkUserExists(@PathVariable("id") Long id);
+
+    /**
+     * Buscar usuários em lote (uma única chamada para vários IDs)
+     */
+    @PostMapping("/batch")
+    ResponseEntity<List<UserSummaryDTO>> getUsersByIds(@RequestBody List<Long> ids);
 }
@@ -0,0 +1,47 @@
+package com.ecommerce.orderservice.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de reserva de estoque retornado pelo Product Service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDTO {
+
+    @JsonProperty("reference")
+    private String reference;
+
+    @JsonProperty("items")
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @JsonProperty("product_id")
+        private Long productId;
+
+        @JsonProperty("quantity")
+        private Integer quantity;
+
+        @JsonProperty("status")
+        private String status;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        @JsonProperty("expires_at")
+        private LocalDateTime expiresAt;
+    }
+}
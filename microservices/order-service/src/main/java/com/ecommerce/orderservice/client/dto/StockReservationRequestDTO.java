@@ -0,0 +1,41 @@
+package com.ecommerce.orderservice.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para reserva de estoque via Product Service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequestDTO {
+
+    @JsonProperty("reference")
+    private String reference;
+
+    @JsonProperty("ttl_minutes")
+    private Integer ttlMinutes;
+
+    @JsonProperty("items")
+    private List<Item> items;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @JsonProperty("product_id")
+        private Long productId;
+
+        @JsonProperty("quantity")
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.orderservice.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * CBOR como formato binário opcional (Accept: application/cbor)
+ *
+ * Mesmas configurações do JSON (spring.jackson.*: snake_case, datas ISO) sobre a
+ * CBORFactory. JSON continua sendo o padrão para quem não pede CBOR.
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.orderservice.config;
+
+import com.ecommerce.orderservice.service.CheckoutInstrumentation;
+import com.ecommerce.orderservice.service.MicrometerCheckoutInstrumentation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Seleção da instrumentação do checkout
+ *
+ * Com order.metrics.checkout.enabled=false o OrderService recebe a implementação
+ * sem operação e nenhum medidor é registrado.
+ */
+@Configuration
+public class CheckoutInstrumentationConfig {
+
+    @Bean
+    public CheckoutInstrumentation checkoutInstrumentation(
+            MeterRegistry meterRegistry,
+            @Value("${order.metrics.checkout.enabled:true}") boolean enabled) {
+        return enabled ? new MicrometerCheckoutInstrumentation(meterRegistry) : CheckoutInstrumentation.NOOP;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.orderservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Relógio usado na montagem dos pedidos
+ *
+ * Injetável para permitir horário fixo em benchmarks e testes.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.orderservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cliente HTTP das chamadas Feign: Apache HttpClient 5 com pool de conexões
+ *
+ * Substitui o HttpURLConnection (spring.cloud.openfeign.httpclient.hc5.enabled),
+ * reaproveitando conexões keep-alive em vez de abrir uma por chamada. Limites
+ * em order.feign.pool: total, por instância de destino (por serviço em
+ * FeignConnectionPoolLimits), tempo máximo de vida e remoção de conexões ociosas.
+ * Timeouts de conexão e leitura continuam vindo de spring.cloud.openfeign.client.config.
+ *
+ * Pool exposto em httpcomponents.httpclient.pool.* (tag httpclient = feign).
+ */
+@Configuration
+public class FeignHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager feignConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${order.feign.pool.max-connections:200}") int maxConnections,
+            @Value("${order.feign.pool.max-per-route:50}") int maxPerRoute,
+            @Value("${order.feign.pool.time-to-live:5m}") Duration timeToLive,
+            @Value("${order.feign.pool.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxPerRoute)
+                // LIFO: poucas conexões ficam quentes e as excedentes ficam ociosas até a remoção
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivity.toMillis()))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "feign").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient feignHttpClient(
+            PoolingHttpClientConnectionManager feignConnectionManager,
+            @Value("${order.feign.pool.idle-timeout:30s}") Duration idleTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(feignConnectionManager)
+                .disableCookieManagement()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.orderservice.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Uma única fonte de métricas de tempo das chamadas Feign: feign.client.requests
+ *
+ * O feign-micrometer (spring.cloud.openfeign.micrometer.enabled) fica ligado para os
+ * spans de cliente e a propagação do traceparent, mas a observação dele também geraria
+ * http.client.requests com outras tags. Esse timer é descartado; a duração das chamadas
+ * vem só da MeteredFeignCapability (percentis e SLOs em order-service.yml).
+ */
+@Configuration
+public class FeignMetricsConfig {
+
+    private static final String FEIGN_OBSERVATION = "http.client.requests";
+    private static final String FEIGN_CLIENT_TAG = "clientName";
+
+    @Bean
+    public MeterFilter feignObservationMeterFilter() {
+        return MeterFilter.deny(id -> id.getName().startsWith(FEIGN_OBSERVATION)
+                && id.getTag(FEIGN_CLIENT_TAG) != null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.orderservice.config;
+
+import com.ecommerce.common.loadbalancer.InstanceLatencyTracker;
+import com.ecommerce.orderservice.loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Balanceamento por latência (PeakEwmaLoadBalancer) nos Feign clients
+ *
+ * Vale quando services.*.url está vazio (padrão): o Feign resolve as instâncias no Eureka.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    /**
+     * Latência por instância, compartilhada pelos balanceadores de todos os serviços
+     */
+    @Bean
+    public InstanceLatencyTracker instanceLatencyTracker(@Value("${order.load-balancer.decay:10s}") Duration decay,
+                                                         @Value("${order.load-balancer.failure-penalty:1s}") Duration failurePenalty,
+                                                         @Value("${order.load-balancer.idle-timeout:10m}") Duration idleTimeout) {
+        return new InstanceLatencyTracker(decay, failurePenalty, idleTimeout);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.orderservice.config;
+
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breakers e bulkheads das chamadas Feign (ResilientFeignCapability)
+ *
+ * Um circuit breaker e um bulkhead por serviço de destino. Conta como falha:
+ * resposta 5xx, erro de I/O (inclusive timeout de conexão/leitura do Feign) e
+ * chamada mais lenta que order.resilience.circuit-breaker.slow-call-duration.
+ * Respostas 4xx (produto inexistente, estoque insuficiente) são sucesso.
+ *
+ * Estado exposto em resilience4j.circuitbreaker.state / .calls e
+ * resilience4j.bulkhead.available.concurrent.calls (tag name = serviço).
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${order.resilience.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${order.resilience.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${order.resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${order.resilience.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${order.resilience.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${order.resilience.circuit-breaker.wait-in-open-state:10s}") Duration waitInOpenState,
+            @Value("${order.resilience.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordResult(result -> result instanceof Response response && response.status() >= 500)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${order.resilience.bulkhead.max-concurrent-calls:25}") int maxConcurrentCalls,
+            @Value("${order.resilience.bulkhead.max-wait:50ms}") Duration maxWait) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+}
@@ -0,0 +1,292 @@
+package com.ecommerce.orderservice.controller;
+
+import com.ecommerce.orderservice.dto.CreateOrderDTO;
+import com.ecommerce.orderservice.dto.OrderIntakeStatusDTO;
+import com.ecommerce.orderservice.dto.OrderResponseDTO;
+import com.ecommerce.orderservice.dto.UpdateOrderStatusDTO;
+import com.ecommerce.orderservice.exception.IdempotencyConflictException;
+import com.ecommerce.orderservice.service.IdempotencyService;
+import com.ecommerce.orderservice.service.OrderIntakeService;
+import com.ecommerce.orderservice.service.OrderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST para gerenciamento de pedidos
+ * Endpoints para criação, consulta e ciclo de vida dos pedidos
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/orders")
+@RequiredArgsConstructor
+@Tag(name = "Order Management", description = "Endpoints para gerenciamento de pedidos")
+public class OrderController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 100;
+
+    private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final OrderIntakeService orderIntakeService;
+
+    // ============= CRIAÇÃO =============
+
+    /**
+     * Criar novo pedido
+     * Com o header Idempotency-Key, retentativas retornam o pedido já criado
+     */
+    @PostMapping
+    @Operation(summary = "Criar pedido",
+               description = "Cria um novo pedido. Envie o header Idempotency-Key para retentativas seguras")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Pedido criado (ou resposta original repetida)"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "409", description = "Chave em processamento ou reutilizada com outro corpo")
+    })
+    public ResponseEntity<?> createOrder(
+            @Parameter(description = "Chave única gerada pelo cliente para esta tentativa de compra")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateOrderDTO createOrderDTO) {
+
+        try {
+            log.info("Request para criar pedido do usuário ID: {}", createOrderDTO.getUserId());
+
+            if (idempotencyKey == null || idempotencyKey.isBlank()) {
+                OrderResponseDTO order = orderService.createOrder(createOrderDTO);
+                return ResponseEntity.status(HttpStatus.CREATED).body(order);
+            }
+
+            if (idempotencyKey.length() > IDEMPOTENCY_KEY_MAX_LENGTH) {
+                return errorResponse(HttpStatus.BAD_REQUEST,
+                        "Idempotency-Key deve ter no máximo " + IDEMPOTENCY_KEY_MAX_LENGTH + " caracteres");
+            }
+
+            IdempotencyService.IdempotentResult result = idempotencyService.execute(
+                    String.valueOf(createOrderDTO.getUserId()), idempotencyKey, createOrderDTO,
+                    () -> orderService.createOrder(createOrderDTO));
+
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(result.response());
+
+        } catch (IdempotencyConflictException e) {
+            log.warn("Conflito de idempotência para chave {}: {}", idempotencyKey, e.getMessage());
+            return errorResponse(HttpStatus.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Erro ao criar pedido: {}", e.getMessage());
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Criar pedido de forma assíncrona
+     * Retorna 202 com o número do pedido; o andamento é consultado em /intake/{orderNumber}
+     */
+    @PostMapping("/async")
+    @Operation(summary = "Criar pedido (assíncrono)",
+               description = "Enfileira o pedido e retorna imediatamente o número reservado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Pedido aceito para processamento"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos")
+    })
+    public ResponseEntity<?> createOrderAsync(@Valid @RequestBody CreateOrderDTO createOrderDTO) {
+        try {
+            log.info("Request para criar pedido assíncrono do usuário ID: {}", createOrderDTO.getUserId());
+            OrderIntakeStatusDTO intake = orderIntakeService.enqueue(createOrderDTO);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/orders/intake/" + intake.getOrderNumber()))
+                    .body(intake);
+
+        } catch (RuntimeException e) {
+            log.error("Erro ao enfileirar pedido: {}", e.getMessage());
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Consultar andamento de pedido assíncrono
+     */
+    @GetMapping("/intake/{orderNumber}")
+    @Operation(summary = "Status do pedido assíncrono",
+               description = "Retorna QUEUED, PROCESSING, COMPLETED (com order_id) ou FAILED (com error)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status retornado"),
+            @ApiResponse(responseCode = "404", description = "Solicitação não encontrada")
+    })
+    public ResponseEntity<?> getIntakeStatus(@PathVariable String orderNumber) {
+        try {
+            return ResponseEntity.ok(orderIntakeService.getStatus(orderNumber));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    // ============= CONSULTAS =============
+
+    /**
+     * Buscar pedido por ID
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar pedido por ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pedido encontrado"),
+            @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
+    })
+    public ResponseEntity<?> getOrderById(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(orderService.getOrderById(id));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Buscar pedido por número
+     */
+    @GetMapping("/number/{orderNumber}")
+    @Operation(summary = "Buscar pedido por número")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pedido encontrado"),
+            @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
+    })
+    public ResponseEntity<?> getOrderByNumber(@PathVariable String orderNumber) {
+        try {
+            return ResponseEntity.ok(orderService.getOrderByNumber(orderNumber));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Listar pedidos de um usuário com paginação
+     */
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Listar pedidos do usuário", description = "Retorna pedidos do usuário, mais recentes primeiro")
+    @ApiResponse(responseCode = "200", description = "Página de pedidos retornada")
+    public ResponseEntity<Page<OrderResponseDTO>> getOrdersByUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(orderService.getOrdersByUserWithPagination(userId, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Listar pedidos por status
+     */
+    @GetMapping("/status/{status}")
+    @Operation(summary = "Listar pedidos por status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de pedidos retornada"),
+            @ApiResponse(responseCode = "400", description = "Status inválido")
+    })
+    public ResponseEntity<?> getOrdersByStatus(@PathVariable String status) {
+        try {
+            List<OrderResponseDTO> orders = orderService.getOrdersByStatus(status);
+            return ResponseEntity.ok(orders);
+        } catch (IllegalArgumentException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, "Status inválido: " + status);
+        }
+    }
+
+    // ============= STATUS E PAGAMENTO =============
+
+    /**
+     * Atualizar status do pedido
+     */
+    @PatchMapping("/{id}/status")
+    @Operation(summary = "Atualizar status do pedido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status atualizado"),
+            @ApiResponse(responseCode = "400", description = "Transição de status inválida")
+    })
+    public ResponseEntity<?> updateOrderStatus(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateOrderStatusDTO updateStatusDTO) {
+        try {
+            return ResponseEntity.ok(orderService.updateOrderStatus(id, updateStatusDTO));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Confirmar pedido
+     */
+    @PatchMapping("/{id}/confirm")
+    @Operation(summary = "Confirmar pedido")
+    public ResponseEntity<?> confirmOrder(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(orderService.confirmOrder(id));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Cancelar pedido
+     */
+    @PatchMapping("/{id}/cancel")
+    @Operation(summary = "Cancelar pedido", description = "Cancela o pedido e devolve os produtos ao estoque")
+    public ResponseEntity<?> cancelOrder(
+            @PathVariable Long id,
+            @RequestParam(required = false) String reason) {
+        try {
+            return ResponseEntity.ok(orderService.cancelOrder(id, reason));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Atualizar status do pagamento
+     */
+    @PatchMapping("/{id}/payment-status")
+    @Operation(summary = "Atualizar status do pagamento")
+    public ResponseEntity<?> updatePaymentStatus(
+            @PathVariable Long id,
+            @RequestParam String paymentStatus) {
+        try {
+            return ResponseEntity.ok(orderService.updatePaymentStatus(id, paymentStatus));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // ============= HEALTH CHECK =============
+
+    /**
+     * Health check do serviço
+     */
+    @GetMapping("/health")
+    @Operation(summary = "Health check", description = "Verifica se o serviço está funcionando")
+    public ResponseEntity<Map<String, String>> healthCheck() {
+        Map<String, String> response = new HashMap<>();
+        response.put("status", "UP");
+        response.put("service", "order-service");
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<Map<String, String>> errorResponse(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
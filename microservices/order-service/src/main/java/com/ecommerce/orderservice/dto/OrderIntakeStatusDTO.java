@@ -0,0 +1,46 @@
+package com.ecommerce.orderservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO com o andamento de uma solicitação de pedido assíncrona
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntakeStatusDTO {
+
+    @JsonProperty("order_number")
+    private String orderNumber;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("status_description")
+    private String statusDescription;
+
+    @JsonProperty("order_id")
+    private Long orderId;
+
+    @JsonProperty("attempts")
+    private Integer attempts;
+
+    @JsonProperty("error")
+    private String error;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -3,8 +3,6 @@ package com.ecommerce.orderservice.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -24,6 +22,12 @@ import java.util.List;
 @EqualsAndHashCode(of = "id")
 public class Order {
 
+    /**
+     * Tamanho máximo do número do pedido: prefixo + yyyyMMddHHmm (12) + sufixo aleatório (4)
+     * Comporta prefixos de até 16 caracteres (ver OrderNumberGenerator)
+     */
+    public static final int ORDER_NUMBER_MAX_LENGTH = 32;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,9 +36,9 @@ public class Order {
     @NotNull(message = "ID do usuário é obrigatório")
     private Long userId;
 
-    @Column(name = "order_number", unique = true, nullable = false, length = 20)
+    @Column(name = "order_number", unique = true, nullable = false, length = ORDER_NUMBER_MAX_LENGTH)
     @NotBlank(message = "Número do pedido é obrigatório")
-    @Size(max = 20, message = "Número do pedido deve ter no máximo 20 caracteres")
+    @Size(max = ORDER_NUMBER_MAX_LENGTH, message = "Número do pedido deve ter no máximo {max} caracteres")
     private String orderNumber;
 
     @Enumerated(EnumType.STRING)
@@ -86,11 +90,9 @@ public class Order {
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
 
-    @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
@@ -154,6 +156,18 @@ public class Order {
         recalculateTotal();
     }
 
+    /**
+     * Adiciona vários itens com o total já calculado (montagem do pedido)
+     * Evita recalcular o total a cada item adicionado
+     */
+    public void addItems(List<OrderItem> newItems, BigDecimal total) {
+        for (OrderItem item : newItems) {
+            items.add(item);
+            item.setOrder(this);
+        }
+        this.totalAmount = total;
+    }
+
     /**
      * Remove item do pedido
      */
@@ -275,4 +289,20 @@ public class Order {
             confirm();
         }
     }
+
+    // Timestamps: o OrderAssembler define os dois com o mesmo Clock; só preenche o que faltar
+    @PrePersist
+    private void initializeTimestamps() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    private void touchUpdatedAt() {
+        updatedAt = LocalDateTime.now();
+    }
 }
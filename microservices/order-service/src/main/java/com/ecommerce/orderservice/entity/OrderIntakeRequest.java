@@ -0,0 +1,88 @@
+package com.ecommerce.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Solicitação de pedido recebida no modo assíncrono
+ * Guarda a requisição validada até que um worker crie o pedido
+ */
+@Entity
+@Table(name = "order_intake_requests", indexes = {
+        @Index(name = "idx_intake_status_id", columnList = "status, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class OrderIntakeRequest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_number", unique = true, nullable = false, length = Order.ORDER_NUMBER_MAX_LENGTH)
+    private String orderNumber;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private IntakeStatus status = IntakeStatus.QUEUED;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * Token da execução que assumiu a solicitação; só ela pode concluí-la ou devolvê-la à fila
+     */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    /**
+     * Próxima tentativa após falha transitória (null = imediata)
+     */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum IntakeStatus {
+        QUEUED("Na fila"),
+        PROCESSING("Em processamento"),
+        COMPLETED("Pedido criado"),
+        FAILED("Falhou");
+
+        private final String description;
+
+        IntakeStatus(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() { return description; }
+    }
+}
@@ -3,8 +3,6 @@ package com.ecommerce.orderservice.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -78,11 +76,9 @@ public class OrderItem {
     @Size(max = 500, message = "Observações devem ter no máximo 500 caracteres")
     private String notes;
 
-    @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
@@ -151,9 +147,24 @@ public class OrderItem {
     }
 
     // Hook para calcular preço total automaticamente antes de persistir
+    // Itens montados pelo OrderAssembler já chegam com o total calculado
+    // Timestamps: o OrderAssembler define os dois com o mesmo Clock; só preenche o que faltar
     @PrePersist
+    private void calculateTotalPriceBeforeInsert() {
+        if (totalPrice == null) {
+            calculateTotalPrice();
+        }
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
+    }
+
     @PreUpdate
     private void calculateTotalPriceBeforeSave() {
         calculateTotalPrice();
+        updatedAt = LocalDateTime.now();
     }
 }
@@ -0,0 +1,21 @@
+package com.ecommerce.orderservice.exception;
+
+import com.ecommerce.orderservice.service.CheckoutInstrumentation.FailureReason;
+
+/**
+ * Falha de validação ou de comunicação durante a criação do pedido
+ * Carrega o motivo usado nas métricas do checkout
+ */
+public class CheckoutFailureException extends RuntimeException {
+
+    private final FailureReason reason;
+
+    public CheckoutFailureException(FailureReason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public FailureReason getReason() {
+        return reason;
+    }
+}
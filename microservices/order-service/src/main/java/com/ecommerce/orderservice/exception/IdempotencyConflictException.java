@@ -0,0 +1,13 @@
+package com.ecommerce.orderservice.exception;
+
+/**
+ * Lançada quando uma chave de idempotência não pode ser atendida:
+ * a requisição original ainda está em processamento ou a chave foi
+ * reutilizada com um corpo de requisição diferente
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
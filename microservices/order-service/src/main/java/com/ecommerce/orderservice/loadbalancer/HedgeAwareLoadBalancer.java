@@ -0,0 +1,59 @@
+package com.ecommerce.orderservice.loadbalancer;
+
+import com.ecommerce.common.loadbalancer.InstanceLatencyTracker;
+import com.ecommerce.common.loadbalancer.PeakEwmaLoadBalancer;
+import com.ecommerce.orderservice.client.HedgingFeignCapability;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import java.util.List;
+
+/**
+ * PeakEwmaLoadBalancer das chamadas Feign: a segunda tentativa de um hedge
+ * (cabeçalho X-Hedge-Id) nunca volta para a instância da primeira, se houver outra
+ */
+public class HedgeAwareLoadBalancer extends PeakEwmaLoadBalancer {
+
+    private final HedgeInstanceRegistry hedgeRegistry;
+
+    public HedgeAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                  String serviceId,
+                                  InstanceLatencyTracker tracker,
+                                  HedgeInstanceRegistry hedgeRegistry) {
+        super(serviceInstanceListSupplierProvider, serviceId, tracker);
+        this.hedgeRegistry = hedgeRegistry;
+    }
+
+    @Override
+    protected List<ServiceInstance> candidates(Request<?> request, List<ServiceInstance> instances) {
+        String hedgeId = hedgeId(request);
+        if (hedgeId == null || instances.size() < 2) {
+            return instances;
+        }
+        List<ServiceInstance> others = instances.stream()
+                .filter(instance -> !hedgeRegistry.isPrimary(hedgeId, instance))
+                .toList();
+        return others.isEmpty() ? instances : others;
+    }
+
+    @Override
+    protected void onInstanceStarted(Request<?> request, ServiceInstance instance) {
+        String hedgeId = hedgeId(request);
+        if (hedgeId != null) {
+            hedgeRegistry.recordPrimary(hedgeId, instance);
+        }
+    }
+
+    private static String hedgeId(Request<?> request) {
+        if (request != null
+                && request.getContext() instanceof RequestDataContext context
+                && context.getClientRequest() != null
+                && context.getClientRequest().getHeaders() != null) {
+            return context.getClientRequest().getHeaders().getFirst(HedgingFeignCapability.HEDGE_HEADER);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.orderservice.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instância que recebeu a primeira tentativa de cada chamada com hedge
+ *
+ * Preenchido pelo HedgeAwareLoadBalancer e limpo pela HedgingFeignCapability ao fim
+ * da chamada, para que a segunda tentativa (mesmo X-Hedge-Id) vá para outra instância.
+ */
+@Component
+public class HedgeInstanceRegistry {
+
+    private final Map<String, String> primaries = new ConcurrentHashMap<>();
+
+    public void recordPrimary(String hedgeId, ServiceInstance instance) {
+        primaries.putIfAbsent(hedgeId, key(instance));
+    }
+
+    /**
+     * A instância já recebeu a primeira tentativa do hedge e deve ser evitada
+     */
+    public boolean isPrimary(String hedgeId, ServiceInstance instance) {
+        return key(instance).equals(primaries.get(hedgeId));
+    }
+
+    public void clear(String hedgeId) {
+        primaries.remove(hedgeId);
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + '|' + instance.getHost() + ':' + instance.getPort();
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.orderservice.loadbalancer;
+
+import com.ecommerce.common.loadbalancer.InstanceLatencyTracker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuração dos contextos do Spring Cloud LoadBalancer (um por serviço)
+ *
+ * Registrada por LoadBalancerConfig; sem @Configuration de propósito, para não entrar
+ * no contexto principal pelo component scan. Com order.load-balancer.peak-ewma.enabled
+ * = false vale o round-robin padrão do Spring Cloud. O balanceador (common) é estendido
+ * pelo HedgeAwareLoadBalancer para separar as tentativas de um hedge.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(value = "order.load-balancer.peak-ewma.enabled", havingValue = "true", matchIfMissing = true)
+    public HedgeAwareLoadBalancer peakEwmaLoadBalancer(Environment environment,
+                                                       LoadBalancerClientFactory loadBalancerClientFactory,
+                                                       InstanceLatencyTracker tracker,
+                                                       HedgeInstanceRegistry hedgeRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new HedgeAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, tracker, hedgeRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.orderservice.repository;
+
+import com.ecommerce.orderservice.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository para chaves de idempotência
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    /**
+     * Buscar registro pela chave
+     */
+    Optional<IdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Remover registro em andamento da execução dona (usado quando ela falha)
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.leaseToken = :token " +
+           "AND r.status = 'IN_PROGRESS'")
+    int releaseLease(@Param("key") String key, @Param("token") String token);
+
+    /**
+     * Assumir um registro em andamento cujo lease venceu (instância caiu ou execução travou)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.leaseToken = :token, r.leaseExpiresAt = :leaseExpiresAt " +
+           "WHERE r.idempotencyKey = :key AND r.status = 'IN_PROGRESS' " +
+           "AND (r.leaseExpiresAt IS NULL OR r.leaseExpiresAt < :now)")
+    int takeOver(@Param("key") String key, @Param("token") String token,
+                 @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt, @Param("now") LocalDateTime now);
+
+    /**
+     * Concluir o registro somente se a execução ainda for a dona do lease
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.ecommerce.orderservice.entity.IdempotencyRecord.Status.COMPLETED, " +
+           "r.orderId = :orderId, " +
+           "r.responseBody = :responseBody, r.leaseExpiresAt = null " +
+           "WHERE r.idempotencyKey = :key AND r.leaseToken = :token AND r.status = 'IN_PROGRESS'")
+    int complete(@Param("key") String key, @Param("token") String token,
+                 @Param("orderId") Long orderId, @Param("responseBody") String responseBody);
+
+    /**
+     * Remover registros expirados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.orderservice.repository;
+
+import com.ecommerce.orderservice.entity.OrderIntakeRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository para solicitações de pedido assíncronas
+ */
+@Repository
+public interface OrderIntakeRequestRepository extends JpaRepository<OrderIntakeRequest, Long> {
+
+    /**
+     * Buscar solicitação pelo número do pedido
+     */
+    Optional<OrderIntakeRequest> findByOrderNumber(String orderNumber);
+
+    /**
+     * Verificar se número do pedido já foi reservado por uma solicitação
+     */
+    boolean existsByOrderNumber(String orderNumber);
+
+    /**
+     * IDs das próximas solicitações na fila, em ordem de chegada
+     * Retentativas só voltam a ser buscadas depois de next_attempt_at
+     */
+    @Query("SELECT r.id FROM OrderIntakeRequest r WHERE r.status = 'QUEUED' " +
+           "AND (r.nextAttemptAt IS NULL OR r.nextAttemptAt <= :now) ORDER BY r.id ASC")
+    List<Long> findQueuedIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Assumir uma solicitação da fila (só uma instância consegue mudar QUEUED → PROCESSING)
+     * O token identifica esta execução nas atualizações seguintes
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderIntakeRequest r SET r.status = 'PROCESSING', r.claimToken = :token, " +
+           "r.attempts = r.attempts + 1, r.updatedAt = :now WHERE r.id = :id AND r.status = 'QUEUED'")
+    int claim(@Param("id") Long id, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    /**
+     * Devolver à fila uma solicitação assumida que não chegou a um worker (não conta a tentativa)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderIntakeRequest r SET r.status = 'QUEUED', r.claimToken = NULL, r.attempts = r.attempts - 1 " +
+           "WHERE r.id = :id AND r.status = 'PROCESSING' AND r.claimToken = :token")
+    int unclaim(@Param("id") Long id, @Param("token") String token);
+
+    /**
+     * Devolver à fila solicitações presas em processamento (ex: instância reiniciada)
+     * O token é descartado: se o worker antigo ainda estiver rodando, suas atualizações não se aplicam mais
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderIntakeRequest r SET r.status = 'QUEUED', r.claimToken = NULL, r.updatedAt = :now " +
+           "WHERE r.status = 'PROCESSING' AND r.updatedAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+
+    /**
+     * Concluir a solicitação com o pedido criado (apenas pela execução dona do token)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderIntakeRequest r SET r.status = 'COMPLETED', r.orderId = :orderId, r.errorMessage = NULL, " +
+           "r.claimToken = NULL, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = 'PROCESSING' AND r.claimToken = :token")
+    int complete(@Param("id") Long id, @Param("token") String token, @Param("orderId") Long orderId,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Devolver à fila para nova tentativa após falha transitória (apenas pela execução dona do token)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderIntakeRequest r SET r.status = 'QUEUED', r.nextAttemptAt = :nextAttemptAt, " +
+           "r.errorMessage = :error, r.claimToken = NULL, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = 'PROCESSING' AND r.claimToken = :token")
+    int retry(@Param("id") Long id, @Param("token") String token, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+              @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * Encerrar a solicitação como falha (apenas pela execução dona do token)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderIntakeRequest r SET r.status = 'FAILED', r.errorMessage = :error, " +
+           "r.claimToken = NULL, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = 'PROCESSING' AND r.claimToken = :token")
+    int fail(@Param("id") Long id, @Param("token") String token, @Param("error") String error,
+             @Param("now") LocalDateTime now);
+}
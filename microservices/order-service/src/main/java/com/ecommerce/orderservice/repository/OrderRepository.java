@@ -254,4 +254,13 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * Buscar pedidos por observações
      */
     List<Order> findByNotesContainingIgnoreCaseOrderByCreatedAtDesc(String notes);
+
+    // ============= QUERIES PARA EXPIRAÇÃO =============
+
+    /**
+     * IDs de pedidos pendentes sem pagamento criados antes do limite
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.status = 'PENDING' AND o.paymentStatus = 'PENDING' " +
+           "AND o.createdAt < :cutoff ORDER BY o.createdAt ASC")
+    List<Long> findUnpaidPendingOrderIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
 }
@@ -0,0 +1,104 @@
+package com.ecommerce.orderservice.service;
+
+/**
+ * Métricas de negócio da criação de pedidos (checkout)
+ *
+ * Fachada usada pelo OrderService. A implementação sem operação (NOOP) não lê o relógio
+ * nem registra nada, então a instrumentação desligada não tem custo relevante.
+ * Ativada por order.metrics.checkout.enabled.
+ */
+public interface CheckoutInstrumentation {
+
+    /**
+     * Etapas do checkout, na ordem em que acontecem
+     */
+    enum Stage {
+        ORDER_NUMBER("order_number"),
+        USER_VALIDATION("user_validation"),
+        ITEM_VALIDATION("item_validation"),
+        ASSEMBLY("assembly"),
+        PERSISTENCE("persistence"),
+        STOCK_RESERVATION("stock_reservation");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() { return tag; }
+    }
+
+    /**
+     * Motivos de falha do checkout
+     */
+    enum FailureReason {
+        USER_NOT_FOUND("user_not_found"),
+        INACTIVE_USER("inactive_user"),
+        PRODUCT_NOT_FOUND("product_not_found"),
+        INACTIVE_PRODUCT("inactive_product"),
+        INSUFFICIENT_STOCK("insufficient_stock"),
+        DOWNSTREAM_FAILURE("downstream_failure"),
+        PERSISTENCE_FAILURE("persistence_failure"),
+        UNEXPECTED("unexpected");
+
+        private final String tag;
+
+        FailureReason(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() { return tag; }
+    }
+
+    /**
+     * Instante inicial para medir uma etapa (0 quando desligada)
+     */
+    long start();
+
+    /**
+     * Registrar a duração de uma etapa
+     * Retorna o instante atual, que serve de início para a próxima etapa
+     */
+    long stageCompleted(Stage stage, long stageStart);
+
+    /**
+     * Registrar checkout concluído: duração total e quantidade de itens do pedido
+     */
+    void checkoutCompleted(int itemCount, long checkoutStart);
+
+    /**
+     * Registrar checkout com falha: duração total e motivo
+     */
+    void checkoutFailed(FailureReason reason, long checkoutStart);
+
+    /**
+     * Reserva rejeitada por falta de estoque depois da verificação ter indicado disponibilidade
+     * (outro pedido levou as unidades entre a verificação e a reserva)
+     */
+    void reservationConflict(int itemCount);
+
+    CheckoutInstrumentation NOOP = new CheckoutInstrumentation() {
+        @Override
+        public long start() {
+            return 0;
+        }
+
+        @Override
+        public long stageCompleted(Stage stage, long stageStart) {
+            return 0;
+        }
+
+        @Override
+        public void checkoutCompleted(int itemCount, long checkoutStart) {
+        }
+
+        @Override
+        public void checkoutFailed(FailureReason reason, long checkoutStart) {
+        }
+
+        @Override
+        public void reservationConflict(int itemCount) {
+        }
+    };
+}
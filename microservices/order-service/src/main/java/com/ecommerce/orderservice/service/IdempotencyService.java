@@ -0,0 +1,284 @@
+package com.ecommerce.orderservice.service;
+
+import com.ecommerce.orderservice.dto.OrderResponseDTO;
+import com.ecommerce.orderservice.entity.IdempotencyRecord;
+import com.ecommerce.orderservice.exception.IdempotencyConflictException;
+import com.ecommerce.orderservice.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Service de idempotência para criação de pedidos
+ *
+ * Garante que uma mesma Idempotency-Key produza um único pedido:
+ * - Cache em memória com as respostas mais recentes (evita ida ao banco em retentativas)
+ * - Requisições concorrentes com a mesma chave aguardam o resultado em andamento
+ * - Tabela idempotency_keys garante a unicidade entre instâncias do serviço
+ *
+ * O pedido e a conclusão da chave são gravados na mesma transação: ou os dois existem
+ * ou nenhum. Uma chave IN_PROGRESS pertence à execução dona do lease; se o lease vencer
+ * (instância caiu), outra execução assume a chave e só uma delas consegue concluí-la.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CachedResponse> recentResponses = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > cacheMaxSize;
+        }
+    };
+
+    @Value("${order.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${order.idempotency.cache-max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${order.idempotency.wait-timeout-seconds:30}")
+    private long waitTimeoutSeconds;
+
+    @Value("${order.idempotency.lease-seconds:60}")
+    private long leaseSeconds;
+
+    /**
+     * Resultado de uma execução idempotente
+     */
+    public record IdempotentResult(OrderResponseDTO response, boolean replayed) {
+    }
+
+    /**
+     * Executar a criação do pedido no máximo uma vez para a chave informada
+     *
+     * @param scope   escopo da chave (ex: ID do usuário), evita colisão entre clientes
+     * @param key     valor do header Idempotency-Key
+     * @param request corpo da requisição, usado para detectar reuso da chave com outro conteúdo
+     * @param action  operação a executar caso a chave ainda não tenha sido usada
+     */
+    public IdempotentResult execute(String scope, String key, Object request, Supplier<OrderResponseDTO> action) {
+        String scopedKey = scope + ":" + key;
+        String requestHash = fingerprint(request);
+
+        // 1. Resposta recente em memória
+        CachedResponse cached = getCached(scopedKey);
+        if (cached != null && cached.expiresAt.isAfter(LocalDateTime.now())) {
+            verifyHash(cached.requestHash, requestHash);
+            log.debug("Idempotency-Key {} atendida pelo cache", scopedKey);
+            return new IdempotentResult(cached.response, true);
+        }
+
+        // 2. Requisição concorrente com a mesma chave nesta instância
+        InFlight mine = new InFlight(requestHash);
+        InFlight existing = inFlight.putIfAbsent(scopedKey, mine);
+        if (existing != null) {
+            verifyHash(existing.requestHash, requestHash);
+            log.debug("Idempotency-Key {} em andamento, aguardando resultado", scopedKey);
+            return new IdempotentResult(await(existing.future), true);
+        }
+
+        try {
+            // 3. Registro persistido (outra instância ou resposta antiga)
+            LocalDateTime now = LocalDateTime.now();
+            Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findByIdempotencyKey(scopedKey);
+            String leaseToken;
+            if (stored.isPresent() && stored.get().getExpiresAt().isAfter(now)) {
+                IdempotencyRecord record = stored.get();
+                verifyHash(record.getRequestHash(), requestHash);
+                if (record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                    OrderResponseDTO response = readResponse(record.getResponseBody());
+                    putCached(scopedKey, new CachedResponse(requestHash, response, record.getExpiresAt()));
+                    mine.future.complete(response);
+                    return new IdempotentResult(response, true);
+                }
+                leaseToken = takeOver(scopedKey, now);
+            } else {
+                stored.ifPresent(idempotencyRecordRepository::delete);
+                // 4. Reservar a chave antes de executar
+                leaseToken = reserve(scopedKey, requestHash);
+            }
+
+            OrderResponseDTO response;
+            try {
+                response = transactionTemplate.execute(status -> {
+                    OrderResponseDTO created = action.get();
+                    complete(scopedKey, leaseToken, created);
+                    return created;
+                });
+            } catch (RuntimeException e) {
+                // Pedido desfeito com a transação (a reserva de estoque é liberada no rollback pelo OrderService):
+                // libera a chave para que o cliente possa tentar novamente
+                idempotencyRecordRepository.releaseLease(scopedKey, leaseToken);
+                throw e;
+            }
+
+            putCached(scopedKey, new CachedResponse(requestHash, response, LocalDateTime.now().plusHours(ttlHours)));
+            mine.future.complete(response);
+            return new IdempotentResult(response, false);
+
+        } catch (RuntimeException e) {
+            mine.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scopedKey, mine);
+        }
+    }
+
+    /**
+     * Remover chaves expiradas periodicamente
+     */
+    @Scheduled(fixedDelayString = "${order.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("Removidas {} chaves de idempotência expiradas", removed);
+        }
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private String reserve(String scopedKey, String requestHash) {
+        String leaseToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .idempotencyKey(scopedKey)
+                    .requestHash(requestHash)
+                    .status(IdempotencyRecord.Status.IN_PROGRESS)
+                    .expiresAt(now.plusHours(ttlHours))
+                    .leaseToken(leaseToken)
+                    .leaseExpiresAt(now.plusSeconds(leaseSeconds))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyConflictException(
+                    "Requisição com esta Idempotency-Key ainda está em processamento");
+        }
+        return leaseToken;
+    }
+
+    /**
+     * Assumir uma chave IN_PROGRESS cujo lease venceu; com o lease válido a requisição original segue dona
+     */
+    private String takeOver(String scopedKey, LocalDateTime now) {
+        String leaseToken = UUID.randomUUID().toString();
+        if (idempotencyRecordRepository.takeOver(scopedKey, leaseToken, now.plusSeconds(leaseSeconds), now) == 0) {
+            throw new IdempotencyConflictException(
+                    "Requisição com esta Idempotency-Key ainda está em processamento");
+        }
+        log.warn("Idempotency-Key {} assumida: execução anterior não concluiu dentro do lease", scopedKey);
+        return leaseToken;
+    }
+
+    /**
+     * Concluir a chave na transação do pedido; se outra execução assumiu a chave, o pedido é desfeito
+     * e a reserva de estoque feita por ele é liberada no rollback
+     */
+    private void complete(String scopedKey, String leaseToken, OrderResponseDTO response) {
+        if (idempotencyRecordRepository.complete(scopedKey, leaseToken, response.getId(), writeResponse(response)) == 0) {
+            throw new IdempotencyConflictException(
+                    "Idempotency-Key assumida por outra execução após o lease vencer");
+        }
+    }
+
+    private OrderResponseDTO await(CompletableFuture<OrderResponseDTO> future) {
+        try {
+            return future.get(waitTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException(
+                    "Requisição com esta Idempotency-Key ainda está em processamento");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Espera pela requisição original foi interrompida");
+        }
+    }
+
+    private void verifyHash(String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyConflictException(
+                    "Idempotency-Key já utilizada com um corpo de requisição diferente");
+        }
+    }
+
+    private CachedResponse getCached(String scopedKey) {
+        synchronized (recentResponses) {
+            return recentResponses.get(scopedKey);
+        }
+    }
+
+    private void putCached(String scopedKey, CachedResponse response) {
+        synchronized (recentResponses) {
+            recentResponses.put(scopedKey, response);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Falha ao calcular hash da requisição: " + e.getMessage());
+        }
+    }
+
+    private String writeResponse(OrderResponseDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao serializar resposta do pedido: " + e.getMessage());
+        }
+    }
+
+    private OrderResponseDTO readResponse(String body) {
+        try {
+            return objectMapper.readValue(body, OrderResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao ler resposta armazenada: " + e.getMessage());
+        }
+    }
+
+    private static final class InFlight {
+        private final String requestHash;
+        private final CompletableFuture<OrderResponseDTO> future = new CompletableFuture<>();
+
+        private InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+
+    private record CachedResponse(String requestHash, OrderResponseDTO response, LocalDateTime expiresAt) {
+    }
+}
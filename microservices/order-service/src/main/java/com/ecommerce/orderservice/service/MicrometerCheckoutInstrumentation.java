@@ -0,0 +1,103 @@
+package com.ecommerce.orderservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas do checkout no Micrometer
+ *
+ * Todos os medidores são registrados na construção e indexados pelo ordinal do enum,
+ * então o caminho do checkout não faz busca no registry nem cria tags:
+ * - checkout.stage (tag stage): duração de cada etapa
+ * - checkout.duration (tag outcome): duração total, sucesso ou falha
+ * - checkout.items: itens por pedido criado
+ * - checkout.failures (tag reason): falhas por motivo
+ * - checkout.stock.reservation.conflicts / checkout.stock.reservation.conflict.items:
+ *   reservas perdidas para pedidos concorrentes
+ */
+public class MicrometerCheckoutInstrumentation implements CheckoutInstrumentation {
+
+    private final Timer[] stageTimers;
+    private final Counter[] failureCounters;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final DistributionSummary itemsPerOrder;
+    private final Counter reservationConflicts;
+    private final DistributionSummary reservationConflictItems;
+
+    public MicrometerCheckoutInstrumentation(MeterRegistry meterRegistry) {
+        Stage[] stages = Stage.values();
+        stageTimers = new Timer[stages.length];
+        for (Stage stage : stages) {
+            stageTimers[stage.ordinal()] = Timer.builder("checkout.stage")
+                    .description("Duração de cada etapa da criação do pedido")
+                    .tag("stage", stage.getTag())
+                    .register(meterRegistry);
+        }
+
+        FailureReason[] reasons = FailureReason.values();
+        failureCounters = new Counter[reasons.length];
+        for (FailureReason reason : reasons) {
+            failureCounters[reason.ordinal()] = Counter.builder("checkout.failures")
+                    .description("Pedidos não criados, por motivo")
+                    .tag("reason", reason.getTag())
+                    .register(meterRegistry);
+        }
+
+        successTimer = Timer.builder("checkout.duration")
+                .description("Duração total da criação do pedido")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        failureTimer = Timer.builder("checkout.duration")
+                .description("Duração total da criação do pedido")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+
+        itemsPerOrder = DistributionSummary.builder("checkout.items")
+                .description("Quantidade de itens por pedido criado")
+                .baseUnit("items")
+                .register(meterRegistry);
+
+        reservationConflicts = Counter.builder("checkout.stock.reservation.conflicts")
+                .description("Reservas rejeitadas por estoque consumido por pedidos concorrentes")
+                .register(meterRegistry);
+        reservationConflictItems = DistributionSummary.builder("checkout.stock.reservation.conflict.items")
+                .description("Itens dos pedidos com reserva rejeitada")
+                .baseUnit("items")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public long stageCompleted(Stage stage, long stageStart) {
+        long now = System.nanoTime();
+        stageTimers[stage.ordinal()].record(now - stageStart, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    @Override
+    public void checkoutCompleted(int itemCount, long checkoutStart) {
+        successTimer.record(System.nanoTime() - checkoutStart, TimeUnit.NANOSECONDS);
+        itemsPerOrder.record(itemCount);
+    }
+
+    @Override
+    public void checkoutFailed(FailureReason reason, long checkoutStart) {
+        failureTimer.record(System.nanoTime() - checkoutStart, TimeUnit.NANOSECONDS);
+        failureCounters[reason.ordinal()].increment();
+    }
+
+    @Override
+    public void reservationConflict(int itemCount) {
+        reservationConflicts.increment();
+        reservationConflictItems.record(itemCount);
+    }
+}
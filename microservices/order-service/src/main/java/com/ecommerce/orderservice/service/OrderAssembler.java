@@ -0,0 +1,107 @@
+package com.ecommerce.orderservice.service;
+
+import com.ecommerce.orderservice.client.dto.ProductResponseDTO;
+import com.ecommerce.orderservice.dto.CreateOrderDTO;
+import com.ecommerce.orderservice.entity.Order;
+import com.ecommerce.orderservice.entity.OrderItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Montagem do pedido a partir dos produtos já validados
+ *
+ * O relógio é lido uma única vez por pedido e os valores são somados em centavos
+ * (long). BigDecimal só é criado para os campos persistidos: total de cada item
+ * e total do pedido.
+ */
+@Slf4j
+@Component
+public class OrderAssembler {
+
+    private static final int MONEY_SCALE = 2;
+
+    private final Clock clock;
+
+    public OrderAssembler(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Montar o pedido com seus itens
+     * products deve estar na mesma ordem de createOrderDTO.getItems()
+     */
+    public Order assemble(CreateOrderDTO createOrderDTO, String orderNumber, List<ProductResponseDTO> products) {
+        List<CreateOrderDTO.CreateOrderItemDTO> itemDTOs = createOrderDTO.getItems();
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        List<OrderItem> items = new ArrayList<>(itemDTOs.size());
+        long totalCents = 0;
+        for (int i = 0; i < itemDTOs.size(); i++) {
+            CreateOrderDTO.CreateOrderItemDTO itemDTO = itemDTOs.get(i);
+            ProductResponseDTO product = products.get(i);
+
+            long lineCents = Math.multiplyExact(toCents(product.getPrice()), itemDTO.getQuantity());
+            totalCents = Math.addExact(totalCents, lineCents);
+
+            OrderItem orderItem = OrderItem.builder()
+                    .productId(product.getId())
+                    .productName(product.getName())
+                    .productSku(product.getSku())
+                    .unitPrice(product.getPrice())
+                    .quantity(itemDTO.getQuantity())
+                    .totalPrice(toAmount(lineCents))
+                    .productCategory(product.getCategory())
+                    .productBrand(product.getBrand())
+                    .productImageUrl(product.getImageUrl())
+                    .notes(itemDTO.getNotes())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            items.add(orderItem);
+
+            log.debug("Item validado: {} - Quantidade: {}, Preço: {}",
+                    product.getName(), itemDTO.getQuantity(), orderItem.getTotalPrice());
+        }
+
+        Order order = Order.builder()
+                .userId(createOrderDTO.getUserId())
+                .orderNumber(orderNumber)
+                .status(Order.OrderStatus.PENDING)
+                .shippingAddress(createOrderDTO.getShippingAddress())
+                .paymentMethod(createOrderDTO.getPaymentMethod())
+                .paymentStatus(Order.PaymentStatus.PENDING)
+                .notes(createOrderDTO.getNotes())
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        order.addItems(items, toAmount(totalCents));
+        return order;
+    }
+
+    // ============= CONVERSÃO DE VALORES =============
+
+    /**
+     * Converter valor monetário para centavos
+     * Preços com mais de duas casas são arredondados (HALF_EVEN), como na coluna DECIMAL(10,2)
+     */
+    static long toCents(BigDecimal amount) {
+        if (amount.scale() != MONEY_SCALE) {
+            amount = amount.setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+        }
+        return amount.unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converter centavos para valor monetário (fronteira com entidade e DTO)
+     */
+    static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, MONEY_SCALE);
+    }
+}
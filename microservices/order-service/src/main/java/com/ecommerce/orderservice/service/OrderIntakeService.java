@@ -0,0 +1,307 @@
+package com.ecommerce.orderservice.service;
+
+import com.ecommerce.orderservice.dto.CreateOrderDTO;
+import com.ecommerce.orderservice.dto.OrderIntakeStatusDTO;
+import com.ecommerce.orderservice.dto.OrderResponseDTO;
+import com.ecommerce.orderservice.entity.Order;
+import com.ecommerce.orderservice.entity.OrderIntakeRequest;
+import com.ecommerce.orderservice.exception.CheckoutFailureException;
+import com.ecommerce.orderservice.repository.OrderIntakeRequestRepository;
+import com.ecommerce.orderservice.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service para criação assíncrona de pedidos
+ *
+ * A requisição é gravada na tabela order_intake_requests e o cliente recebe
+ * o número do pedido imediatamente. Workers com concorrência limitada buscam
+ * a fila em lotes e executam validação, reserva de estoque e persistência.
+ *
+ * Falhas transitórias (serviço indisponível, timeout, banco) devolvem a solicitação
+ * à fila com backoff exponencial até order.intake.max-attempts; falhas de negócio
+ * (produto inexistente, estoque insuficiente) encerram a solicitação como FAILED.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIntakeService {
+
+    private final OrderIntakeRequestRepository orderIntakeRequestRepository;
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${order.intake.workers:4}")
+    private int workers;
+
+    @Value("${order.intake.batch-size:20}")
+    private int batchSize;
+
+    @Value("${order.intake.stale-after-minutes:10}")
+    private long staleAfterMinutes;
+
+    @Value("${order.intake.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${order.intake.retry-backoff:2s}")
+    private Duration retryBackoff;
+
+    @Value("${order.intake.max-retry-backoff:1m}")
+    private Duration maxRetryBackoff;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void startWorkers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "order-intake-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        log.info("Workers de pedidos assíncronos iniciados - workers: {}, lote: {}", workers, batchSize);
+    }
+
+    @PreDestroy
+    void stopWorkers() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Workers de pedidos assíncronos não finalizaram a tempo");
+        }
+    }
+
+    // ============= ENTRADA =============
+
+    /**
+     * Enfileirar solicitação de pedido já validada e reservar o número do pedido
+     */
+    public OrderIntakeStatusDTO enqueue(CreateOrderDTO createOrderDTO) {
+        OrderIntakeRequest request = OrderIntakeRequest.builder()
+                .orderNumber(orderNumberGenerator.generate())
+                .userId(createOrderDTO.getUserId())
+                .payload(writePayload(createOrderDTO))
+                .status(OrderIntakeRequest.IntakeStatus.QUEUED)
+                .build();
+
+        OrderIntakeRequest saved = orderIntakeRequestRepository.save(request);
+        log.info("Pedido {} enfileirado para usuário ID: {}", saved.getOrderNumber(), saved.getUserId());
+        return convertToStatusDTO(saved);
+    }
+
+    /**
+     * Consultar andamento de uma solicitação pelo número do pedido
+     */
+    public OrderIntakeStatusDTO getStatus(String orderNumber) {
+        OrderIntakeRequest request = orderIntakeRequestRepository.findByOrderNumber(orderNumber)
+                .orElseThrow(() -> new RuntimeException("Solicitação não encontrada - Número: " + orderNumber));
+        return convertToStatusDTO(request);
+    }
+
+    // ============= PROCESSAMENTO =============
+
+    /**
+     * Buscar o próximo lote da fila e distribuir para os workers
+     * Busca apenas o que cabe na fila do executor, então a fila do banco absorve os picos
+     */
+    @Scheduled(fixedDelayString = "${order.intake.poll-interval-ms:500}")
+    public void dispatchQueued() {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        List<Long> ids = orderIntakeRequestRepository.findQueuedIds(LocalDateTime.now(),
+                PageRequest.of(0, Math.min(capacity, batchSize)));
+        for (Long id : ids) {
+            String claimToken = UUID.randomUUID().toString();
+            if (orderIntakeRequestRepository.claim(id, claimToken, LocalDateTime.now()) == 0) {
+                continue; // assumida por outra instância
+            }
+            try {
+                executor.execute(() -> processObserved(id, claimToken));
+            } catch (RejectedExecutionException e) {
+                // Já assumida: sem devolver, ficaria em PROCESSING até o requeueStale
+                orderIntakeRequestRepository.unclaim(id, claimToken);
+                log.warn("Fila de workers cheia, solicitação {} será retomada depois", id);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Devolver à fila solicitações presas em processamento
+     * Um worker lento que ainda esteja rodando perde o token e não consegue mais alterar a solicitação;
+     * a próxima execução encontra o pedido pelo número, se ele chegou a ser criado
+     */
+    @Scheduled(fixedDelayString = "${order.intake.requeue-interval-ms:60000}")
+    public void requeueStale() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = orderIntakeRequestRepository.requeueStale(now.minusMinutes(staleAfterMinutes), now);
+        if (requeued > 0) {
+            log.warn("{} solicitações de pedido presas foram devolvidas à fila", requeued);
+        }
+    }
+
+    /**
+     * Processar dentro de uma observação própria
+     * O worker não tem requisição HTTP de origem; sem ela as chamadas Feign e as
+     * consultas JPA do pedido virariam traces soltos
+     */
+    void processObserved(Long requestId, String claimToken) {
+        Observation.createNotStarted("order.intake.process", observationRegistry)
+                .contextualName("order-intake-process")
+                .highCardinalityKeyValue("order.intake.id", String.valueOf(requestId))
+                .observe(() -> process(requestId, claimToken));
+    }
+
+    /**
+     * Criar o pedido de uma solicitação assumida
+     */
+    void process(Long requestId, String claimToken) {
+        Optional<OrderIntakeRequest> found = orderIntakeRequestRepository.findById(requestId);
+        if (found.isEmpty() || !claimToken.equals(found.get().getClaimToken())) {
+            return; // devolvida à fila e assumida por outra execução
+        }
+        OrderIntakeRequest request = found.get();
+
+        // Retomada após queda: o pedido pode já ter sido criado
+        Optional<Order> existing = orderRepository.findByOrderNumber(request.getOrderNumber());
+        if (existing.isPresent()) {
+            markCompleted(request, claimToken, existing.get().getId());
+            return;
+        }
+
+        try {
+            CreateOrderDTO createOrderDTO = objectMapper.readValue(request.getPayload(), CreateOrderDTO.class);
+            OrderResponseDTO order = orderService.createOrder(createOrderDTO, request.getOrderNumber());
+            markCompleted(request, claimToken, order.getId());
+
+        } catch (JsonProcessingException e) {
+            markFailed(request, claimToken, "Solicitação inválida: " + e.getOriginalMessage());
+        } catch (RuntimeException e) {
+            // Outra execução (após requeueStale) pode ter criado o pedido com este número
+            Optional<Order> created = orderRepository.findByOrderNumber(request.getOrderNumber());
+            if (created.isPresent()) {
+                markCompleted(request, claimToken, created.get().getId());
+            } else if (isTransient(e) && request.getAttempts() < maxAttempts) {
+                scheduleRetry(request, claimToken, e.getMessage());
+            } else {
+                markFailed(request, claimToken, e.getMessage());
+            }
+        }
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private void markCompleted(OrderIntakeRequest request, String claimToken, Long orderId) {
+        if (orderIntakeRequestRepository.complete(request.getId(), claimToken, orderId, LocalDateTime.now()) == 0) {
+            logClaimLost(request);
+            return;
+        }
+        log.info("Pedido assíncrono {} criado - ID: {}", request.getOrderNumber(), orderId);
+    }
+
+    /**
+     * Devolver à fila para nova tentativa: backoff dobra a cada tentativa, até max-retry-backoff
+     */
+    private void scheduleRetry(OrderIntakeRequest request, String claimToken, String message) {
+        int attempt = Math.max(1, request.getAttempts());
+        long backoffMillis = Math.min(maxRetryBackoff.toMillis(),
+                retryBackoff.toMillis() << Math.min(attempt - 1, 20));
+        LocalDateTime now = LocalDateTime.now();
+        if (orderIntakeRequestRepository.retry(request.getId(), claimToken,
+                now.plus(Duration.ofMillis(backoffMillis)), truncate(message), now) == 0) {
+            logClaimLost(request);
+            return;
+        }
+        log.warn("Pedido assíncrono {} falhou na tentativa {}/{}, nova tentativa em {}ms: {}",
+                request.getOrderNumber(), attempt, maxAttempts, backoffMillis, message);
+    }
+
+    /**
+     * Falha que pode passar sozinha: comunicação com os serviços ou erro transitório do banco
+     * O OrderService embrulha a falha original, então a cadeia de causas é percorrida
+     */
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof CheckoutFailureException checkoutFailure) {
+                return checkoutFailure.getReason() == CheckoutInstrumentation.FailureReason.DOWNSTREAM_FAILURE;
+            }
+            if (cause instanceof FeignException feignException) {
+                // 4xx é erro do pedido; I/O (status -1), 5xx e 429 podem passar
+                int status = feignException.status();
+                return status < 400 || status >= 500 || status == 429;
+            }
+            if (cause instanceof TransientDataAccessException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private void markFailed(OrderIntakeRequest request, String claimToken, String message) {
+        if (orderIntakeRequestRepository.fail(request.getId(), claimToken, truncate(message), LocalDateTime.now()) == 0) {
+            logClaimLost(request);
+            return;
+        }
+        log.warn("Pedido assíncrono {} falhou: {}", request.getOrderNumber(), message);
+    }
+
+    private void logClaimLost(OrderIntakeRequest request) {
+        log.warn("Pedido assíncrono {} foi devolvido à fila durante o processamento; resultado descartado",
+                request.getOrderNumber());
+    }
+
+    private String writePayload(CreateOrderDTO createOrderDTO) {
+        try {
+            return objectMapper.writeValueAsString(createOrderDTO);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao serializar solicitação de pedido: " + e.getMessage());
+        }
+    }
+
+    private OrderIntakeStatusDTO convertToStatusDTO(OrderIntakeRequest request) {
+        return OrderIntakeStatusDTO.builder()
+                .orderNumber(request.getOrderNumber())
+                .status(request.getStatus().name())
+                .statusDescription(request.getStatus().getDescription())
+                .orderId(request.getOrderId())
+                .attempts(request.getAttempts())
+                .error(request.getErrorMessage())
+                .createdAt(request.getCreatedAt())
+                .updatedAt(request.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.orderservice.service;
+
+import com.ecommerce.orderservice.dto.OrderResponseDTO;
+import com.ecommerce.orderservice.entity.Order;
+import com.ecommerce.orderservice.entity.OrderItem;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Conversão de pedidos e itens para os DTOs de resposta
+ *
+ * Sem dependências: usado pelo OrderService e medido diretamente pelos benchmarks JMH.
+ */
+@Component
+public class OrderMapper {
+
+    /**
+     * Converter entidade para DTO de resposta
+     */
+    public OrderResponseDTO toResponseDTO(Order order) {
+        List<OrderResponseDTO.OrderItemResponseDTO> itemDTOs = order.getItems().stream()
+                .map(this::toItemResponseDTO)
+                .toList();
+
+        return OrderResponseDTO.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .orderNumber(order.getOrderNumber())
+                .status(order.getStatus().getCode())
+                .statusDescription(order.getStatus().getDescription())
+                .totalAmount(order.getTotalAmount())
+                .shippingAddress(order.getShippingAddress())
+                .paymentMethod(order.getPaymentMethod())
+                .paymentStatus(order.getPaymentStatus().getCode())
+                .paymentStatusDescription(order.getPaymentStatus().getDescription())
+                .notes(order.getNotes())
+                .estimatedDelivery(order.getEstimatedDelivery())
+                .shippedAt(order.getShippedAt())
+                .deliveredAt(order.getDeliveredAt())
+                .cancelledAt(order.getCancelledAt())
+                .cancellationReason(order.getCancellationReason())
+                .items(itemDTOs)
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .totalItems(order.getTotalItems())
+                .canBeCancelled(order.canBeCancelled())
+                .isFinalized(order.isFinalized())
+                .build();
+    }
+
+    /**
+     * Converter item para DTO de resposta
+     */
+    public OrderResponseDTO.OrderItemResponseDTO toItemResponseDTO(OrderItem item) {
+        return OrderResponseDTO.OrderItemResponseDTO.builder()
+                .id(item.getId())
+                .productId(item.getProductId())
+                .productName(item.getProductName())
+                .productSku(item.getProductSku())
+                .unitPrice(item.getUnitPrice())
+                .quantity(item.getQuantity())
+                .totalPrice(item.getTotalPrice())
+                .productCategory(item.getProductCategory())
+                .productBrand(item.getProductBrand())
+                .productImageUrl(item.getProductImageUrl())
+                .notes(item.getNotes())
+                .createdAt(item.getCreatedAt())
+                .updatedAt(item.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.orderservice.service;
+
+import com.ecommerce.orderservice.entity.Order;
+import com.ecommerce.orderservice.repository.OrderIntakeRequestRepository;
+import com.ecommerce.orderservice.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Gerador de números de pedido
+ * Formato: prefixo + yyyyMMddHHmm + 4 caracteres aleatórios (ex: ORD202401151030A1B2)
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderNumberGenerator {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final int TIMESTAMP_LENGTH = 12;
+    private static final int SUFFIX_LENGTH = 4;
+
+    private final OrderRepository orderRepository;
+    private final OrderIntakeRequestRepository orderIntakeRequestRepository;
+
+    @Value("${order.number.prefix:ORD}")
+    private String prefix;
+
+    /**
+     * Falhar na subida se o prefixo configurado não couber na coluna order_number
+     */
+    @PostConstruct
+    void validatePrefix() {
+        int length = prefix.length() + TIMESTAMP_LENGTH + SUFFIX_LENGTH;
+        if (length > Order.ORDER_NUMBER_MAX_LENGTH) {
+            throw new IllegalStateException("order.number.prefix muito longo: números teriam " + length
+                    + " caracteres (máximo " + Order.ORDER_NUMBER_MAX_LENGTH + ")");
+        }
+    }
+
+    /**
+     * Gerar número único do pedido
+     * Considera também números já reservados por solicitações assíncronas
+     */
+    public String generate() {
+        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+        String orderNumber;
+        do {
+            String suffix = UUID.randomUUID().toString().substring(0, SUFFIX_LENGTH).toUpperCase();
+            orderNumber = prefix + timestamp + suffix;
+        } while (orderRepository.existsByOrderNumber(orderNumber)
+                || orderIntakeRequestRepository.existsByOrderNumber(orderNumber));
+
+        return orderNumber;
+    }
+}
@@ -3,6 +3,7 @@ package com.ecommerce.orderservice.service;
 import com.ecommerce.orderservice.client.ProductServiceClient;
 import com.ecommerce.orderservice.client.UserServiceClient;
 import com.ecommerce.orderservice.client.dto.ProductResponseDTO;
+import com.ecommerce.orderservice.client.dto.StockReservationRequestDTO;
 import com.ecommerce.orderservice.client.dto.UpdateStockDTO;
 import com.ecommerce.orderservice.client.dto.UserResponseDTO;
 import com.ecommerce.orderservice.dto.CreateOrderDTO;
@@ -10,22 +11,27 @@ import com.ecommerce.orderservice.dto.OrderResponseDTO;
 import com.ecommerce.orderservice.dto.UpdateOrderStatusDTO;
 import com.ecommerce.orderservice.entity.Order;
 import com.ecommerce.orderservice.entity.OrderItem;
+import com.ecommerce.orderservice.exception.CheckoutFailureException;
 import com.ecommerce.orderservice.repository.OrderRepository;
 import com.ecommerce.orderservice.repository.OrderItemRepository;
+import com.ecommerce.orderservice.service.CheckoutInstrumentation.FailureReason;
+import com.ecommerce.orderservice.service.CheckoutInstrumentation.Stage;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Service para gerenciamento de pedidos
@@ -40,6 +46,13 @@ public class OrderService {
     private final OrderItemRepository orderItemRepository;
     private final UserServiceClient userServiceClient;
     private final ProductServiceClient productServiceClient;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderAssembler orderAssembler;
+    private final OrderMapper orderMapper;
+    private final CheckoutInstrumentation checkoutInstrumentation;
+
+    @Value("${order.stock.reservation-timeout-minutes:15}")
+    private int reservationTimeoutMinutes;
 
     // ============= OPERAÇÕES CRUD =============
 
@@ -48,53 +61,60 @@ public class OrderService {
      */
     @Transactional
     public OrderResponseDTO createOrder(CreateOrderDTO createOrderDTO) {
-        log.info("Criando pedido para usuário ID: {}", createOrderDTO.getUserId());
+        long checkoutStart = checkoutInstrumentation.start();
+        String orderNumber = orderNumberGenerator.generate();
+        long stageStart = checkoutInstrumentation.stageCompleted(Stage.ORDER_NUMBER, checkoutStart);
+        return createOrder(createOrderDTO, orderNumber, checkoutStart, stageStart);
+    }
+
+    /**
+     * Criar novo pedido com número previamente reservado (usado pelo modo assíncrono)
+     */
+    @Transactional
+    public OrderResponseDTO createOrder(CreateOrderDTO createOrderDTO, String orderNumber) {
+        long checkoutStart = checkoutInstrumentation.start();
+        return createOrder(createOrderDTO, orderNumber, checkoutStart, checkoutStart);
+    }
+
+    /**
+     * Checkout a partir da validação; checkoutStart marca o início do checkout inteiro
+     * (antes do número do pedido, quando gerado aqui) e stageStart o fim da etapa anterior
+     */
+    private OrderResponseDTO createOrder(CreateOrderDTO createOrderDTO, String orderNumber,
+                                         long checkoutStart, long stageStart) {
+        log.info("Criando pedido {} para usuário ID: {}", orderNumber, createOrderDTO.getUserId());
 
         try {
             // 1. Validar usuário
             validateUser(createOrderDTO.getUserId());
+            stageStart = checkoutInstrumentation.stageCompleted(Stage.USER_VALIDATION, stageStart);
 
-            // 2. Validar produtos e calcular valores
-            List<OrderItem> validatedItems = validateAndCreateOrderItems(createOrderDTO.getItems());
-
-            // 3. Gerar número do pedido
-            String orderNumber = generateOrderNumber();
-
-            // 4. Calcular total
-            BigDecimal totalAmount = validatedItems.stream()
-                    .map(OrderItem::getTotalPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // 5. Criar pedido
-            Order order = Order.builder()
-                    .userId(createOrderDTO.getUserId())
-                    .orderNumber(orderNumber)
-                    .status(Order.OrderStatus.PENDING)
-                    .totalAmount(totalAmount)
-                    .shippingAddress(createOrderDTO.getShippingAddress())
-                    .paymentMethod(createOrderDTO.getPaymentMethod())
-                    .paymentStatus(Order.PaymentStatus.PENDING)
-                    .notes(createOrderDTO.getNotes())
-                    .createdAt(LocalDateTime.now())
-                    .updatedAt(LocalDateTime.now())
-                    .build();
-
-            // 6. Adicionar itens ao pedido
-            validatedItems.forEach(order::addItem);
-
-            // 7. Salvar pedido
+            // 2. Validar produtos
+            List<ProductResponseDTO> products = validateProducts(createOrderDTO.getItems());
+            stageStart = checkoutInstrumentation.stageCompleted(Stage.ITEM_VALIDATION, stageStart);
+
+            // 3. Montar pedido e itens (relógio lido uma vez, valores somados em centavos)
+            Order order = orderAssembler.assemble(createOrderDTO, orderNumber, products);
+            stageStart = checkoutInstrumentation.stageCompleted(Stage.ASSEMBLY, stageStart);
+
+            // 4. Salvar pedido
             Order savedOrder = orderRepository.save(order);
+            stageStart = checkoutInstrumentation.stageCompleted(Stage.PERSISTENCE, stageStart);
 
-            // 8. Reduzir estoque dos produtos
-            reserveProductStock(validatedItems);
+            // 5. Reservar estoque dos produtos (expira se o pedido não for pago)
+            reserveProductStock(orderNumber, order.getItems());
+            checkoutInstrumentation.stageCompleted(Stage.STOCK_RESERVATION, stageStart);
 
             log.info("Pedido criado com sucesso - ID: {}, Número: {}", savedOrder.getId(), savedOrder.getOrderNumber());
+            checkoutInstrumentation.checkoutCompleted(order.getItems().size(), checkoutStart);
 
-            return convertToResponseDTO(savedOrder);
+            return orderMapper.toResponseDTO(savedOrder);
 
         } catch (Exception e) {
             log.error("Erro ao criar pedido: {}", e.getMessage());
-            throw new RuntimeException("Falha ao criar pedido: " + e.getMessage());
+            checkoutInstrumentation.checkoutFailed(failureReason(e), checkoutStart);
+            // Causa preservada: o OrderIntakeService decide pela causa se a falha é transitória
+            throw new RuntimeException("Falha ao criar pedido: " + e.getMessage(), e);
         }
     }
 
@@ -102,29 +122,29 @@ public class OrderService {
      * Buscar pedido por ID
      */
     public OrderResponseDTO getOrderById(Long id) {
-        log.info("Buscando pedido por ID: {}", id);
+        log.debug("Buscando pedido por ID: {}", id);
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Pedido não encontrado - ID: " + id));
-        return convertToResponseDTO(order);
+        return orderMapper.toResponseDTO(order);
     }
 
     /**
      * Buscar pedido por número
      */
     public OrderResponseDTO getOrderByNumber(String orderNumber) {
-        log.info("Buscando pedido por número: {}", orderNumber);
+        log.debug("Buscando pedido por número: {}", orderNumber);
         Order order = orderRepository.findByOrderNumber(orderNumber)
                 .orElseThrow(() -> new RuntimeException("Pedido não encontrado - Número: " + orderNumber));
-        return convertToResponseDTO(order);
+        return orderMapper.toResponseDTO(order);
     }
 
     /**
      * Listar todos os pedidos
      */
     public List<OrderResponseDTO> getAllOrders() {
-        log.info("Listando todos os pedidos");
+        log.debug("Listando todos os pedidos");
         return orderRepository.findAll().stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -132,9 +152,9 @@ public class OrderService {
      * Listar pedidos por usuário
      */
     public List<OrderResponseDTO> getOrdersByUser(Long userId) {
-        log.info("Listando pedidos do usuário ID: {}", userId);
+        log.debug("Listando pedidos do usuário ID: {}", userId);
         return orderRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -142,19 +162,19 @@ public class OrderService {
      * Listar pedidos por usuário com paginação
      */
     public Page<OrderResponseDTO> getOrdersByUserWithPagination(Long userId, Pageable pageable) {
-        log.info("Listando pedidos do usuário ID: {} - Página: {}", userId, pageable.getPageNumber());
+        log.debug("Listando pedidos do usuário ID: {} - Página: {}", userId, pageable.getPageNumber());
         return orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
-                .map(this::convertToResponseDTO);
+                .map(orderMapper::toResponseDTO);
     }
 
     /**
      * Listar pedidos por status
      */
     public List<OrderResponseDTO> getOrdersByStatus(String status) {
-        log.info("Listando pedidos com status: {}", status);
+        log.debug("Listando pedidos com status: {}", status);
         Order.OrderStatus orderStatus = Order.OrderStatus.valueOf(status.toUpperCase());
         return orderRepository.findByStatusOrderByCreatedAtDesc(orderStatus).stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -203,7 +223,7 @@ public class OrderService {
             log.info("Status do pedido atualizado com sucesso - ID: {}, Novo status: {}", 
                     updatedOrder.getId(), updatedOrder.getStatus());
 
-            return convertToResponseDTO(updatedOrder);
+            return orderMapper.toResponseDTO(updatedOrder);
 
         } catch (Exception e) {
             log.error("Erro ao atualizar status do pedido ID {}: {}", id, e.getMessage());
@@ -225,7 +245,7 @@ public class OrderService {
         Order confirmedOrder = orderRepository.save(order);
 
         log.info("Pedido confirmado com sucesso - ID: {}", confirmedOrder.getId());
-        return convertToResponseDTO(confirmedOrder);
+        return orderMapper.toResponseDTO(confirmedOrder);
     }
 
     /**
@@ -250,7 +270,7 @@ public class OrderService {
         Order cancelledOrder = orderRepository.save(order);
 
         log.info("Pedido cancelado com sucesso - ID: {}", cancelledOrder.getId());
-        return convertToResponseDTO(cancelledOrder);
+        return orderMapper.toResponseDTO(cancelledOrder);
     }
 
     // ============= OPERAÇÕES DE PAGAMENTO =============
@@ -266,6 +286,9 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("Pedido não encontrado - ID: " + id));
 
         Order.PaymentStatus newPaymentStatus = Order.PaymentStatus.valueOf(paymentStatus.toUpperCase());
+        if (newPaymentStatus == Order.PaymentStatus.PAID && order.getPaymentStatus() != Order.PaymentStatus.PAID) {
+            commitStockReservation(order);
+        }
         order.updatePaymentStatus(newPaymentStatus);
 
         Order updatedOrder = orderRepository.save(order);
@@ -273,7 +296,7 @@ public class OrderService {
         log.info("Status de pagamento atualizado - ID: {}, Novo status: {}", 
                 updatedOrder.getId(), updatedOrder.getPaymentStatus());
 
-        return convertToResponseDTO(updatedOrder);
+        return orderMapper.toResponseDTO(updatedOrder);
     }
 
     // ============= MÉTODOS AUXILIARES =============
@@ -288,26 +311,29 @@ public class OrderService {
             var response = userServiceClient.getUserById(userId);
             
             if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                throw new RuntimeException("Usuário não encontrado - ID: " + userId);
+                throw new CheckoutFailureException(FailureReason.USER_NOT_FOUND, "Usuário não encontrado - ID: " + userId);
             }
 
             UserResponseDTO user = response.getBody();
             if (!user.getActive()) {
-                throw new RuntimeException("Usuário está inativo - ID: " + userId);
+                throw new CheckoutFailureException(FailureReason.INACTIVE_USER, "Usuário está inativo - ID: " + userId);
             }
 
             log.debug("Usuário válido: {} - {}", user.getId(), user.getName());
 
+        } catch (FeignException.NotFound e) {
+            throw new CheckoutFailureException(FailureReason.USER_NOT_FOUND, "Usuário não encontrado - ID: " + userId);
         } catch (FeignException e) {
             log.error("Erro ao validar usuário ID {}: {}", userId, e.getMessage());
-            throw new RuntimeException("Falha na comunicação com User Service");
+            throw new CheckoutFailureException(FailureReason.DOWNSTREAM_FAILURE, "Falha na comunicação com User Service");
         }
     }
 
     /**
-     * Validar produtos e criar itens do pedido
+     * Validar produtos do pedido
+     * Retorna os produtos na mesma ordem dos itens
      */
-    private List<OrderItem> validateAndCreateOrderItems(List<CreateOrderDTO.CreateOrderItemDTO> itemDTOs) {
+    private List<ProductResponseDTO> validateProducts(List<CreateOrderDTO.CreateOrderItemDTO> itemDTOs) {
         log.debug("Validando {} itens do pedido", itemDTOs.size());
 
         return itemDTOs.stream().map(itemDTO -> {
@@ -316,18 +342,21 @@ public class OrderService {
                 var response = productServiceClient.getProductById(itemDTO.getProductId());
                 
                 if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                    throw new RuntimeException("Produto não encontrado - ID: " + itemDTO.getProductId());
+                    throw new CheckoutFailureException(FailureReason.PRODUCT_NOT_FOUND,
+                            "Produto não encontrado - ID: " + itemDTO.getProductId());
                 }
 
                 ProductResponseDTO product = response.getBody();
                 
                 // Validar se produto está ativo e disponível
                 if (!product.getActive()) {
-                    throw new RuntimeException("Produto inativo - ID: " + itemDTO.getProductId());
+                    throw new CheckoutFailureException(FailureReason.INACTIVE_PRODUCT,
+                            "Produto inativo - ID: " + itemDTO.getProductId());
                 }
 
                 if (!product.getAvailable()) {
-                    throw new RuntimeException("Produto indisponível - ID: " + itemDTO.getProductId());
+                    throw new CheckoutFailureException(FailureReason.INSUFFICIENT_STOCK,
+                            "Produto indisponível - ID: " + itemDTO.getProductId());
                 }
 
                 // Verificar estoque
@@ -335,7 +364,8 @@ public class OrderService {
                         itemDTO.getProductId(), itemDTO.getQuantity());
                 
                 if (!stockResponse.getStatusCode().is2xxSuccessful()) {
-                    throw new RuntimeException("Falha ao verificar estoque do produto - ID: " + itemDTO.getProductId());
+                    throw new CheckoutFailureException(FailureReason.DOWNSTREAM_FAILURE,
+                            "Falha ao verificar estoque do produto - ID: " + itemDTO.getProductId());
                 }
 
                 @SuppressWarnings("unchecked")
@@ -343,74 +373,151 @@ public class OrderService {
                 Boolean available = (Boolean) stockCheck.get("available");
                 
                 if (!available) {
-                    throw new RuntimeException("Estoque insuficiente para produto: " + product.getName() + 
+                    throw new CheckoutFailureException(FailureReason.INSUFFICIENT_STOCK,
+                            "Estoque insuficiente para produto: " + product.getName() + 
                             " (Solicitado: " + itemDTO.getQuantity() + ", Disponível: " + product.getStockQuantity() + ")");
                 }
 
-                // Criar item do pedido
-                OrderItem orderItem = OrderItem.builder()
-                        .productId(product.getId())
-                        .productName(product.getName())
-                        .productSku(product.getSku())
-                        .unitPrice(product.getPrice())
-                        .quantity(itemDTO.getQuantity())
-                        .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(itemDTO.getQuantity())))
-                        .productCategory(product.getCategory())
-                        .productBrand(product.getBrand())
-                        .productImageUrl(product.getImageUrl())
-                        .notes(itemDTO.getNotes())
-                        .createdAt(LocalDateTime.now())
-                        .updatedAt(LocalDateTime.now())
-                        .build();
-
-                log.debug("Item validado: {} - Quantidade: {}, Preço: {}", 
-                        product.getName(), itemDTO.getQuantity(), orderItem.getTotalPrice());
-
-                return orderItem;
+                return product;
 
+            } catch (FeignException.NotFound e) {
+                throw new CheckoutFailureException(FailureReason.PRODUCT_NOT_FOUND,
+                        "Produto não encontrado - ID: " + itemDTO.getProductId());
             } catch (FeignException e) {
                 log.error("Erro ao validar produto ID {}: {}", itemDTO.getProductId(), e.getMessage());
-                throw new RuntimeException("Falha na comunicação com Product Service");
+                throw new CheckoutFailureException(FailureReason.DOWNSTREAM_FAILURE, "Falha na comunicação com Product Service");
             }
         }).toList();
     }
 
     /**
-     * Reservar estoque dos produtos
+     * Motivo da falha do checkout para as métricas
      */
-    private void reserveProductStock(List<OrderItem> items) {
-        log.debug("Reservando estoque para {} itens", items.size());
+    private static FailureReason failureReason(Exception e) {
+        if (e instanceof CheckoutFailureException checkoutFailure) {
+            return checkoutFailure.getReason();
+        }
+        if (e instanceof DataAccessException) {
+            return FailureReason.PERSISTENCE_FAILURE;
+        }
+        return FailureReason.UNEXPECTED;
+    }
 
-        for (OrderItem item : items) {
-            try {
-                UpdateStockDTO stockUpdate = UpdateStockDTO.builder()
-                        .productId(item.getProductId())
-                        .quantity(item.getQuantity())
-                        .operation(UpdateStockDTO.StockOperation.REDUCE)
-                        .build();
+    /**
+     * Reservar estoque dos produtos com prazo de expiração
+     * A reserva é feita em uma única chamada (tudo ou nada) usando o número do pedido como referência
+     */
+    private void reserveProductStock(String orderNumber, List<OrderItem> items) {
+        log.debug("Reservando estoque para {} itens do pedido {}", items.size(), orderNumber);
+
+        StockReservationRequestDTO request = StockReservationRequestDTO.builder()
+                .reference(orderNumber)
+                .ttlMinutes(reservationTimeoutMinutes)
+                .items(items.stream()
+                        .map(item -> StockReservationRequestDTO.Item.builder()
+                                .productId(item.getProductId())
+                                .quantity(item.getQuantity())
+                                .build())
+                        .toList())
+                .build();
 
-                var response = productServiceClient.updateStock(stockUpdate);
-                
-                if (!response.getStatusCode().is2xxSuccessful()) {
-                    throw new RuntimeException("Falha ao reservar estoque para produto ID: " + item.getProductId());
-                }
+        try {
+            var response = productServiceClient.reserveStock(request);
 
-                log.debug("Estoque reservado para produto ID: {} - Quantidade: {}", 
-                        item.getProductId(), item.getQuantity());
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new CheckoutFailureException(FailureReason.DOWNSTREAM_FAILURE,
+                        "Falha ao reservar estoque para o pedido: " + orderNumber);
+            }
 
-            } catch (FeignException e) {
-                log.error("Erro ao reservar estoque do produto ID {}: {}", item.getProductId(), e.getMessage());
-                throw new RuntimeException("Falha ao reservar estoque - Product Service indisponível");
+            log.debug("Estoque reservado para pedido {} por {} minutos", orderNumber, reservationTimeoutMinutes);
+            releaseReservationOnRollback(orderNumber);
+
+        } catch (FeignException.NotFound e) {
+            log.warn("Produto inexistente ou inativo ao reservar pedido {}: {}", orderNumber, e.getMessage());
+            throw new CheckoutFailureException(FailureReason.PRODUCT_NOT_FOUND,
+                    "Produto não encontrado ou inativo no pedido");
+        } catch (FeignException.Conflict e) {
+            log.warn("Estoque insuficiente ao reservar pedido {}: {}", orderNumber, e.getMessage());
+            checkoutInstrumentation.reservationConflict(items.size());
+            throw new CheckoutFailureException(FailureReason.INSUFFICIENT_STOCK,
+                    "Estoque insuficiente para um ou mais produtos do pedido");
+        } catch (FeignException e) {
+            log.error("Erro ao reservar estoque do pedido {}: {}", orderNumber, e.getMessage());
+            throw new CheckoutFailureException(FailureReason.DOWNSTREAM_FAILURE,
+                    "Falha ao reservar estoque - Product Service indisponível");
+        }
+    }
+
+    /**
+     * Liberar a reserva se a transação do pedido for desfeita depois de reservar
+     * (conflito da Idempotency-Key, falha no commit): sem isso o estoque ficaria preso até o TTL
+     */
+    private void releaseReservationOnRollback(String orderNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Com o mesmo número, o pedido pode ter sido criado por outra execução da fila assíncrona:
+                // a reserva é compartilhada e passa a ser dele
+                if (status == STATUS_COMMITTED || orderRepository.existsByOrderNumber(orderNumber)) {
+                    return;
+                }
+                try {
+                    productServiceClient.releaseReservation(orderNumber);
+                    log.info("Reserva do pedido {} liberada após rollback", orderNumber);
+                } catch (FeignException e) {
+                    // A reserva expira pelo TTL; a liberação é idempotente e pode ser repetida
+                    log.warn("Falha ao liberar reserva do pedido {} após rollback: {}", orderNumber, e.getMessage());
+                }
             }
+        });
+    }
+
+    /**
+     * Confirmar reserva de estoque (pagamento aprovado)
+     */
+    private void commitStockReservation(Order order) {
+        try {
+            productServiceClient.commitReservation(order.getOrderNumber());
+            log.debug("Reserva de estoque confirmada para pedido {}", order.getOrderNumber());
+
+        } catch (FeignException.NotFound e) {
+            // Pedidos anteriores às reservas já tiveram o estoque baixado na criação
+            log.debug("Pedido {} sem reserva de estoque, nada a confirmar", order.getOrderNumber());
+        } catch (FeignException.Conflict e) {
+            log.warn("Reserva do pedido {} não pôde ser confirmada: {}", order.getOrderNumber(), e.getMessage());
+            throw new RuntimeException("Reserva de estoque expirada e produtos sem estoque - Pedido: "
+                    + order.getOrderNumber());
+        } catch (FeignException e) {
+            log.error("Erro ao confirmar reserva do pedido {}: {}", order.getOrderNumber(), e.getMessage());
+            throw new RuntimeException("Falha ao confirmar reserva - Product Service indisponível");
         }
     }
 
     /**
      * Devolver produtos ao estoque (em caso de cancelamento)
+     * Libera a reserva do pedido; pedidos sem reserva usam a devolução item a item
      */
     private void returnProductsToStock(Order order) {
         log.debug("Devolvendo produtos ao estoque para pedido ID: {}", order.getId());
 
+        try {
+            productServiceClient.releaseReservation(order.getOrderNumber());
+            log.debug("Reserva de estoque liberada para pedido {}", order.getOrderNumber());
+            return;
+
+        } catch (FeignException.NotFound e) {
+            log.debug("Pedido {} sem reserva de estoque, devolvendo itens individualmente", order.getOrderNumber());
+        } catch (FeignException e) {
+            // Reservas confirmadas (pedido pago) não expiram: sem a liberação o estoque ficaria preso.
+            // Falhar o cancelamento (rollback) permite repeti-lo; a liberação é idempotente
+            log.error("Erro ao liberar reserva do pedido {}: {}", order.getOrderNumber(), e.getMessage());
+            throw new RuntimeException("Falha ao devolver estoque do pedido " + order.getOrderNumber()
+                    + " - Product Service indisponível, tente novamente");
+        }
+
         for (OrderItem item : order.getItems()) {
             try {
                 UpdateStockDTO stockUpdate = UpdateStockDTO.builder()
@@ -435,23 +542,6 @@ public class OrderService {
         }
     }
 
-    /**
-     * Gerar número único do pedido
-     */
-    private String generateOrderNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmm"));
-        String uuid = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
-        String orderNumber = "ORD" + timestamp + uuid;
-        
-        // Garantir que o número é único
-        while (orderRepository.existsByOrderNumber(orderNumber)) {
-            uuid = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
-            orderNumber = "ORD" + timestamp + uuid;
-        }
-        
-        return orderNumber;
-    }
-
     // Continua na próxima parte...
 
     // ============= OPERAÇÕES DE CONSULTA =============
@@ -460,9 +550,9 @@ public class OrderService {
      * Listar pedidos pendentes
      */
     public List<OrderResponseDTO> getPendingOrders() {
-        log.info("Listando pedidos pendentes");
+        log.debug("Listando pedidos pendentes");
         return orderRepository.findPendingOrders().stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -470,9 +560,9 @@ public class OrderService {
      * Listar pedidos confirmados
      */
     public List<OrderResponseDTO> getConfirmedOrders() {
-        log.info("Listando pedidos confirmados");
+        log.debug("Listando pedidos confirmados");
         return orderRepository.findConfirmedOrders().stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -480,9 +570,9 @@ public class OrderService {
      * Listar pedidos em processamento
      */
     public List<OrderResponseDTO> getProcessingOrders() {
-        log.info("Listando pedidos em processamento");
+        log.debug("Listando pedidos em processamento");
         return orderRepository.findProcessingOrders().stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -490,9 +580,9 @@ public class OrderService {
      * Listar pedidos enviados
      */
     public List<OrderResponseDTO> getShippedOrders() {
-        log.info("Listando pedidos enviados");
+        log.debug("Listando pedidos enviados");
         return orderRepository.findShippedOrders().stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -500,9 +590,9 @@ public class OrderService {
      * Listar pedidos entregues
      */
     public List<OrderResponseDTO> getDeliveredOrders() {
-        log.info("Listando pedidos entregues");
+        log.debug("Listando pedidos entregues");
         return orderRepository.findDeliveredOrders().stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -510,9 +600,9 @@ public class OrderService {
      * Listar pedidos cancelados
      */
     public List<OrderResponseDTO> getCancelledOrders() {
-        log.info("Listando pedidos cancelados");
+        log.debug("Listando pedidos cancelados");
         return orderRepository.findCancelledOrders().stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -520,9 +610,9 @@ public class OrderService {
      * Listar pedidos de hoje
      */
     public List<OrderResponseDTO> getTodaysOrders() {
-        log.info("Listando pedidos de hoje");
+        log.debug("Listando pedidos de hoje");
         return orderRepository.findTodaysOrders().stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -530,9 +620,9 @@ public class OrderService {
      * Buscar pedidos por período
      */
     public List<OrderResponseDTO> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        log.info("Buscando pedidos por período: {} a {}", startDate, endDate);
+        log.debug("Buscando pedidos por período: {} a {}", startDate, endDate);
         return orderRepository.findOrdersByDateRange(startDate, endDate).stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -540,9 +630,9 @@ public class OrderService {
      * Buscar pedidos com entrega atrasada
      */
     public List<OrderResponseDTO> getOverdueDeliveries() {
-        log.info("Listando pedidos com entrega atrasada");
+        log.debug("Listando pedidos com entrega atrasada");
         return orderRepository.findOverdueDeliveries().stream()
-                .map(this::convertToResponseDTO)
+                .map(orderMapper::toResponseDTO)
                 .toList();
     }
 
@@ -552,7 +642,7 @@ public class OrderService {
      * Estatísticas de pedidos
      */
     public Map<String, Object> getOrderStatistics() {
-        log.info("Gerando estatísticas de pedidos");
+        log.debug("Gerando estatísticas de pedidos");
 
         long totalOrders = orderRepository.count();
         long pendingOrders = orderRepository.countByStatus(Order.OrderStatus.PENDING);
@@ -586,65 +676,8 @@ public class OrderService {
      * Vendas por período
      */
     public BigDecimal getSalesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        log.info("Calculando vendas por período: {} a {}", startDate, endDate);
+        log.debug("Calculando vendas por período: {} a {}", startDate, endDate);
         BigDecimal sales = orderRepository.getTotalSalesByDateRange(startDate, endDate);
         return sales != null ? sales : BigDecimal.ZERO;
     }
-
-    // ============= MÉTODO DE CONVERSÃO =============
-
-    /**
-     * Converter entidade para DTO de resposta
-     */
-    private OrderResponseDTO convertToResponseDTO(Order order) {
-        List<OrderResponseDTO.OrderItemResponseDTO> itemDTOs = order.getItems().stream()
-                .map(this::convertItemToResponseDTO)
-                .toList();
-
-        return OrderResponseDTO.builder()
-                .id(order.getId())
-                .userId(order.getUserId())
-                .orderNumber(order.getOrderNumber())
-                .status(order.getStatus().getCode())
-                .statusDescription(order.getStatus().getDescription())
-                .totalAmount(order.getTotalAmount())
-                .shippingAddress(order.getShippingAddress())
-                .paymentMethod(order.getPaymentMethod())
-                .paymentStatus(order.getPaymentStatus().getCode())
-                .paymentStatusDescription(order.getPaymentStatus().getDescription())
-                .notes(order.getNotes())
-                .estimatedDelivery(order.getEstimatedDelivery())
-                .shippedAt(order.getShippedAt())
-                .deliveredAt(order.getDeliveredAt())
-                .cancelledAt(order.getCancelledAt())
-                .cancellationReason(order.getCancellationReason())
-                .items(itemDTOs)
-                .createdAt(order.getCreatedAt())
-                .updatedAt(order.getUpdatedAt())
-                .totalItems(order.getTotalItems())
-                .canBeCancelled(order.canBeCancelled())
-                .isFinalized(order.isFinalized())
-                .build();
-    }
-
-    /**
-     * Converter item para DTO de resposta
-     */
-    private OrderResponseDTO.OrderItemResponseDTO convertItemToResponseDTO(OrderItem item) {
-        return OrderResponseDTO.OrderItemResponseDTO.builder()
-                .id(item.getId())
-                .productId(item.getProductId())
-                .productName(item.getProductName())
-                .productSku(item.getProductSku())
-                .unitPrice(item.getUnitPrice())
-                .quantity(item.getQuantity())
-                .totalPrice(item.getTotalPrice())
-                .productCategory(item.getProductCategory())
-                .productBrand(item.getProductBrand())
-                .productImageUrl(item.getProductImageUrl())
-                .notes(item.getNotes())
-                .createdAt(item.getCreatedAt())
-                .updatedAt(item.getUpdatedAt())
-                .build();
-    }
 }
@@ -0,0 +1,51 @@
+package com.ecommerce.orderservice.service;
+
+import com.ecommerce.orderservice.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Job que cancela pedidos pendentes sem pagamento após order.payment.timeout-minutes
+ * O cancelamento libera a reserva de estoque do pedido
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UnpaidOrderExpirationJob {
+
+    private static final String CANCELLATION_REASON = "Pagamento não confirmado no prazo";
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+
+    @Value("${order.payment.timeout-minutes:30}")
+    private long paymentTimeoutMinutes;
+
+    @Value("${order.payment.expiration-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${order.payment.expiration-interval-ms:60000}")
+    public void cancelUnpaidOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(paymentTimeoutMinutes);
+        List<Long> orderIds = orderRepository.findUnpaidPendingOrderIds(cutoff, PageRequest.of(0, batchSize));
+
+        for (Long orderId : orderIds) {
+            try {
+                orderService.cancelOrder(orderId, CANCELLATION_REASON);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao cancelar pedido sem pagamento ID {}: {}", orderId, e.getMessage());
+            }
+        }
+
+        if (!orderIds.isEmpty()) {
+            log.info("{} pedidos sem pagamento cancelados por prazo", orderIds.size());
+        }
+    }
+}
@@ -50,7 +50,7 @@ public class ProductController {
                description = "Retorna lista de todos os produtos ativos")
     @ApiResponse(responseCode = "200", description = "Lista de produtos retornada")
     public ResponseEntity<List<ProductResponseDTO>> getAllActiveProducts() {
-        log.info("Request para listar produtos ativos");
+        log.debug("Request para listar produtos ativos");
         List<ProductResponseDTO> products = productService.getActiveProducts();
         return ResponseEntity.ok(products);
     }
@@ -69,7 +69,7 @@ public class ProductController {
             @PathVariable @Parameter(description = "ID do produto") Long id) {
         
         try {
-            log.info("Buscando produto por ID: {}", id);
+            log.debug("Buscando produto por ID: {}", id);
             ProductResponseDTO product = productService.getProductById(id);
             return ResponseEntity.ok(product);
             
@@ -95,7 +95,7 @@ public class ProductController {
             @PathVariable @Parameter(description = "SKU do produto") String sku) {
         
         try {
-            log.info("Buscando produto por SKU: {}", sku);
+            log.debug("Buscando produto por SKU: {}", sku);
             ProductResponseDTO product = productService.getProductBySku(sku);
             return ResponseEntity.ok(product);
             
@@ -107,6 +107,31 @@ public class ProductController {
         }
     }
 
+    /**
+     * Buscar produtos em lote (uso interno entre serviços)
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Buscar produtos em lote", 
+               description = "Retorna vários produtos em uma única consulta; IDs inexistentes são omitidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lote inválido ou acima do limite")
+    })
+    public ResponseEntity<?> getProductsByIds(@RequestBody List<Long> ids) {
+        
+        try {
+            log.debug("Buscando produtos em lote - Quantidade: {}", ids != null ? ids.size() : 0);
+            List<ProductResponseDTO> products = productService.getProductsByIds(ids);
+            return ResponseEntity.ok(products);
+            
+        } catch (Exception e) {
+            log.error("Erro ao buscar produtos em lote: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
     /**
      * Listar produtos disponíveis (com estoque)
      */
@@ -114,7 +139,7 @@ public class ProductController {
     @Operation(summary = "Listar produtos disponíveis", 
                description = "Retorna produtos com estoque disponível")
     public ResponseEntity<List<ProductResponseDTO>> getAvailableProducts() {
-        log.info("Listando produtos disponíveis");
+        log.debug("Listando produtos disponíveis");
         List<ProductResponseDTO> products = productService.getAvailableProducts();
         return ResponseEntity.ok(products);
     }
@@ -126,7 +151,7 @@ public class ProductController {
     @Operation(summary = "Listar produtos em destaque", 
                description = "Retorna produtos marcados como destaque")
     public ResponseEntity<List<ProductResponseDTO>> getFeaturedProducts() {
-        log.info("Listando produtos em destaque");
+        log.debug("Listando produtos em destaque");
         List<ProductResponseDTO> products = productService.getFeaturedProducts();
         return ResponseEntity.ok(products);
     }
@@ -140,7 +165,7 @@ public class ProductController {
     public ResponseEntity<List<ProductResponseDTO>> getProductsByCategory(
             @PathVariable @Parameter(description = "Nome da categoria") String category) {
         
-        log.info("Buscando produtos por categoria: {}", category);
+        log.debug("Buscando produtos por categoria: {}", category);
         List<ProductResponseDTO> products = productService.getProductsByCategory(category);
         return ResponseEntity.ok(products);
     }
@@ -154,7 +179,7 @@ public class ProductController {
     public ResponseEntity<List<ProductResponseDTO>> getProductsByBrand(
             @PathVariable @Parameter(description = "Nome da marca") String brand) {
         
-        log.info("Buscando produtos por marca: {}", brand);
+        log.debug("Buscando produtos por marca: {}", brand);
         List<ProductResponseDTO> products = productService.getProductsByBrand(brand);
         return ResponseEntity.ok(products);
     }
@@ -169,7 +194,7 @@ public class ProductController {
             @RequestParam @Parameter(description = "Preço mínimo") BigDecimal minPrice,
             @RequestParam @Parameter(description = "Preço máximo") BigDecimal maxPrice) {
         
-        log.info("Buscando produtos por faixa de preço: {} - {}", minPrice, maxPrice);
+        log.debug("Buscando produtos por faixa de preço: {} - {}", minPrice, maxPrice);
         List<ProductResponseDTO> products = productService.getProductsByPriceRange(minPrice, maxPrice);
         return ResponseEntity.ok(products);
     }
@@ -183,7 +208,7 @@ public class ProductController {
     public ResponseEntity<List<ProductResponseDTO>> searchProducts(
             @RequestParam @Parameter(description = "Termo de busca") String q) {
         
-        log.info("Busca textual por: {}", q);
+        log.debug("Busca textual por: {}", q);
         List<ProductResponseDTO> products = productService.searchProducts(q);
         return ResponseEntity.ok(products);
     }
@@ -198,7 +223,7 @@ public class ProductController {
             @RequestParam @Parameter(description = "Termo de busca") String q,
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
         
-        log.info("Busca paginada por: {} - Página: {}", q, pageable.getPageNumber());
+        log.debug("Busca paginada por: {} - Página: {}", q, pageable.getPageNumber());
         Page<ProductResponseDTO> products = productService.searchProductsWithPagination(q, pageable);
         return ResponseEntity.ok(products);
     }
@@ -210,7 +235,7 @@ public class ProductController {
     @Operation(summary = "Listar categorias", 
                description = "Retorna todas as categorias de produtos disponíveis")
     public ResponseEntity<List<String>> getAvailableCategories() {
-        log.info("Listando categorias disponíveis");
+        log.debug("Listando categorias disponíveis");
         List<String> categories = productService.getAvailableCategories();
         return ResponseEntity.ok(categories);
     }
@@ -222,7 +247,7 @@ public class ProductController {
     @Operation(summary = "Listar marcas", 
                description = "Retorna todas as marcas de produtos disponíveis")
     public ResponseEntity<List<String>> getAvailableBrands() {
-        log.info("Listando marcas disponíveis");
+        log.debug("Listando marcas disponíveis");
         List<String> brands = productService.getAvailableBrands();
         return ResponseEntity.ok(brands);
     }
@@ -411,7 +436,7 @@ public class ProductController {
             @PathVariable @Parameter(description = "ID do produto") Long id,
             @RequestParam @Parameter(description = "Quantidade solicitada") Integer quantity) {
         
-        log.info("Verificando estoque - Produto ID: {}, Quantidade: {}", id, quantity);
+        log.debug("Verificando estoque - Produto ID: {}, Quantidade: {}", id, quantity);
         boolean available = productService.checkStockAvailability(id, quantity);
         
         Map<String, Object> response = new HashMap<>();
@@ -430,7 +455,7 @@ public class ProductController {
     @Operation(summary = "Produtos com estoque baixo", 
                description = "Lista produtos com estoque baixo - apenas admins")
     public ResponseEntity<List<ProductResponseDTO>> getLowStockProducts() {
-        log.info("Listando produtos com estoque baixo");
+        log.debug("Listando produtos com estoque baixo");
         List<ProductResponseDTO> products = productService.getLowStockProducts();
         return ResponseEntity.ok(products);
     }
@@ -443,7 +468,7 @@ public class ProductController {
     @Operation(summary = "Produtos sem estoque", 
                description = "Lista produtos sem estoque - apenas admins")
     public ResponseEntity<List<ProductResponseDTO>> getOutOfStockProducts() {
-        log.info("Listando produtos sem estoque");
+        log.debug("Listando produtos sem estoque");
         List<ProductResponseDTO> products = productService.getOutOfStockProducts();
         return ResponseEntity.ok(products);
     }
@@ -458,7 +483,7 @@ public class ProductController {
     @Operation(summary = "Estatísticas do catálogo", 
                description = "Retorna estatísticas gerais do catálogo - apenas admins")
     public ResponseEntity<Map<String, Object>> getCatalogStatistics() {
-        log.info("Gerando estatísticas do catálogo");
+        log.debug("Gerando estatísticas do catálogo");
         Map<String, Object> statistics = productService.getCatalogStatistics();
         return ResponseEntity.ok(statistics);
     }
@@ -471,7 +496,7 @@ public class ProductController {
     @Operation(summary = "Listar todos os produtos", 
                description = "Lista todos os produtos incluindo inativos - apenas admins")
     public ResponseEntity<List<ProductResponseDTO>> getAllProducts() {
-        log.info("Listando todos os produtos (incluindo inativos)");
+        log.debug("Listando todos os produtos (incluindo inativos)");
         List<ProductResponseDTO> products = productService.getAllProducts();
         return ResponseEntity.ok(products);
     }
@@ -0,0 +1,113 @@
+package com.ecommerce.productservice.controller;
+
+import com.ecommerce.productservice.dto.ReserveStockDTO;
+import com.ecommerce.productservice.dto.StockReservationResponseDTO;
+import com.ecommerce.productservice.exception.ProductNotFoundException;
+import com.ecommerce.productservice.service.StockReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller REST para reservas de estoque
+ * Usado pelo Order Service: reservar na criação, confirmar no pagamento, liberar no cancelamento
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/products/reservations")
+@RequiredArgsConstructor
+@Tag(name = "Stock Reservations", description = "Endpoints para reservas de estoque com expiração")
+public class StockReservationController {
+
+    private final StockReservationService stockReservationService;
+
+    /**
+     * Reservar estoque
+     */
+    @PostMapping
+    @Operation(summary = "Reservar estoque",
+               description = "Reserva todos os itens ou nenhum; a reserva expira após ttl_minutes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reserva criada"),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado ou inativo"),
+            @ApiResponse(responseCode = "409", description = "Estoque insuficiente")
+    })
+    public ResponseEntity<?> reserve(@Valid @RequestBody ReserveStockDTO reserveStockDTO) {
+        try {
+            log.info("Reservando estoque - Referência: {}", reserveStockDTO.getReference());
+            StockReservationResponseDTO reservation = stockReservationService.reserve(reserveStockDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+
+        } catch (ProductNotFoundException e) {
+            log.warn("Falha ao reservar estoque {}: {}", reserveStockDTO.getReference(), e.getMessage());
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao reservar estoque {}: {}", reserveStockDTO.getReference(), e.getMessage());
+            return errorResponse(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Confirmar reserva
+     */
+    @PostMapping("/{reference}/commit")
+    @Operation(summary = "Confirmar reserva", description = "Torna a baixa de estoque definitiva (pagamento aprovado)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva confirmada"),
+            @ApiResponse(responseCode = "409", description = "Reserva liberada ou expirada sem estoque")
+    })
+    public ResponseEntity<?> commit(@PathVariable String reference) {
+        try {
+            return ResponseEntity.ok(stockReservationService.commit(reference));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao confirmar reserva {}: {}", reference, e.getMessage());
+            return errorResponse(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Liberar reserva
+     */
+    @PostMapping("/{reference}/release")
+    @Operation(summary = "Liberar reserva", description = "Devolve ao estoque as quantidades reservadas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva liberada"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada")
+    })
+    public ResponseEntity<?> release(@PathVariable String reference) {
+        try {
+            return ResponseEntity.ok(stockReservationService.release(reference));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Consultar reserva
+     */
+    @GetMapping("/{reference}")
+    @Operation(summary = "Consultar reserva")
+    public ResponseEntity<?> getReservation(@PathVariable String reference) {
+        try {
+            return ResponseEntity.ok(stockReservationService.getReservation(reference));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private ResponseEntity<Map<String, String>> errorResponse(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.status(status).body(error);
+    }
+}
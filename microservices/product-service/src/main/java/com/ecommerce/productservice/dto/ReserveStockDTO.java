@@ -0,0 +1,58 @@
+package com.ecommerce.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para reserva de estoque de vários produtos de uma vez
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReserveStockDTO {
+
+    @NotBlank(message = "Referência da reserva é obrigatória")
+    @Size(max = 50, message = "Referência deve ter no máximo 50 caracteres")
+    @JsonProperty("reference")
+    private String reference;
+
+    @Min(value = 1, message = "Prazo da reserva deve ser de pelo menos 1 minuto")
+    @JsonProperty("ttl_minutes")
+    private Integer ttlMinutes;
+
+    @NotEmpty(message = "Reserva deve conter pelo menos um item")
+    @Valid
+    @JsonProperty("items")
+    private List<ReservationItemDTO> items;
+
+    /**
+     * Item da reserva
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReservationItemDTO {
+
+        @NotNull(message = "ID do produto é obrigatório")
+        @JsonProperty("product_id")
+        private Long productId;
+
+        @NotNull(message = "Quantidade é obrigatória")
+        @Min(value = 1, message = "Quantidade deve ser maior que zero")
+        @JsonProperty("quantity")
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.productservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de resposta com a situação das reservas de uma referência
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponseDTO {
+
+    @JsonProperty("reference")
+    private String reference;
+
+    @JsonProperty("items")
+    private List<ReservationItemResponseDTO> items;
+
+    /**
+     * Situação de cada produto reservado
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReservationItemResponseDTO {
+
+        @JsonProperty("product_id")
+        private Long productId;
+
+        @JsonProperty("quantity")
+        private Integer quantity;
+
+        @JsonProperty("status")
+        private String status;
+
+        @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+        @JsonProperty("expires_at")
+        private LocalDateTime expiresAt;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.productservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserva de estoque de um produto para um pedido
+ * A quantidade sai do estoque vendável ao reservar e volta ao expirar ou ser liberada
+ */
+@Entity
+@Table(name = "stock_reservations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reservation_reference_product",
+                columnNames = {"reference", "product_id"}),
+        indexes = @Index(name = "idx_reservation_status_expires", columnList = "status, expires_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Referência externa da reserva (número do pedido)
+     */
+    @Column(nullable = false, length = 50)
+    private String reference;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ReservationStatus status = ReservationStatus.RESERVED;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum ReservationStatus {
+        RESERVED,   // estoque separado, aguardando pagamento
+        COMMITTED,  // pagamento confirmado, baixa definitiva
+        RELEASED,   // liberada por cancelamento
+        EXPIRED     // prazo de pagamento esgotado
+    }
+}
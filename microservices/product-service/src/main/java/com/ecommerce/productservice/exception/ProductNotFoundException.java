@@ -0,0 +1,11 @@
+package com.ecommerce.productservice.exception;
+
+/**
+ * Lançada quando o produto não existe ou está inativo
+ */
+public class ProductNotFoundException extends RuntimeException {
+
+    public ProductNotFoundException(Long productId) {
+        super("Produto não encontrado - ID: " + productId);
+    }
+}
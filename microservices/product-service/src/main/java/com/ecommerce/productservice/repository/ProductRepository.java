@@ -1,14 +1,19 @@
 package com.ecommerce.productservice.repository;
 
 import com.ecommerce.productservice.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -191,4 +196,30 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * Produtos adicionados recentemente
      */
     List<Product> findTop10ByActiveTrueOrderByCreatedAtDesc();
+
+    // ============= ATUALIZAÇÕES ATÔMICAS DE ESTOQUE =============
+
+    /**
+     * Baixar estoque somente se houver quantidade suficiente
+     * Retorna 0 quando o estoque é insuficiente (sem leitura prévia)
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.stockQuantity >= :quantity")
+    int decrementStockIfAvailable(@Param("id") Long id, @Param("quantity") Integer quantity,
+                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Devolver quantidade ao estoque
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity, p.updatedAt = :now WHERE p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") Integer quantity, @Param("now") LocalDateTime now);
+
+    /**
+     * Carregar produtos com lock de escrita, em ordem de ID para evitar deadlocks
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
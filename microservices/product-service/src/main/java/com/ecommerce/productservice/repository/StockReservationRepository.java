@@ -0,0 +1,47 @@
+package com.ecommerce.productservice.repository;
+
+import com.ecommerce.productservice.entity.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository para reservas de estoque
+ */
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    /**
+     * Buscar reservas de uma referência (pedido)
+     */
+    List<StockReservation> findByReferenceOrderByProductIdAsc(String reference);
+
+    /**
+     * Reservas vencidas ainda ativas (usa o índice status, expires_at)
+     */
+    @Query("SELECT r FROM StockReservation r WHERE r.status = 'RESERVED' AND r.expiresAt <= :now ORDER BY r.expiresAt ASC")
+    List<StockReservation> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Status atual lido do banco (ignora a entidade já carregada na sessão)
+     */
+    @Query("SELECT r.status FROM StockReservation r WHERE r.id = :id")
+    StockReservation.ReservationStatus findStatusById(@Param("id") Long id);
+
+    /**
+     * Mudar status somente se a reserva ainda estiver no status esperado
+     * Retorna 0 quando outra operação já mudou a reserva
+     */
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :to, r.updatedAt = :now WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") StockReservation.ReservationStatus from,
+                   @Param("to") StockReservation.ReservationStatus to,
+                   @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,380 @@
+package com.ecommerce.productservice.service;
+
+import com.ecommerce.productservice.entity.Product;
+import com.ecommerce.productservice.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Estoque em memória para SKUs quentes (produtos em destaque durante lançamentos)
+ *
+ * Em vez de cada venda atualizar a mesma linha no MySQL, a instância retira do banco
+ * um lote de unidades (lease) com um UPDATE condicional e atende as vendas a partir
+ * de contadores distribuídos em shards (AtomicLongArray). Um shard sem saldo rouba
+ * dos demais antes de buscar um novo lote no banco.
+ *
+ * O banco nunca fica com mais unidades do que existem: as unidades em memória já foram
+ * descontadas dele. Todas as movimentações vão para o HotSkuJournal; ao reiniciar,
+ * o saldo não vendido registrado no log é devolvido ao banco.
+ *
+ * Cada alteração dos shards e o registro correspondente acontecem juntos sob o lock de
+ * leitura de journalLock; a compactação do log toma o lock de escrita, então o checkpoint
+ * nunca vê um saldo já alterado sem o registro (ou o registro sem a alteração).
+ * Devoluções ao banco são registradas antes do UPDATE: uma queda entre os dois passos
+ * deixa unidades a menos no banco, nunca devolve as mesmas unidades duas vezes.
+ *
+ * Modo opcional: product.hot-sku.enabled=true.
+ */
+@Slf4j
+@Component
+public class HotSkuInventory {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate newTransaction;
+    private final Map<Long, Pool> pools = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private volatile Set<Long> hotProductIds = Set.of();
+
+    @Value("${product.hot-sku.enabled:false}")
+    private boolean enabled;
+
+    @Value("${product.hot-sku.shards:0}")
+    private int configuredShards;
+
+    @Value("${product.hot-sku.lease-size:200}")
+    private int leaseSize;
+
+    @Value("${product.hot-sku.journal-path:${user.home}/hot-sku/hot-sku.journal}")
+    private String journalPath;
+
+    @Value("${product.hot-sku.journal-compact-bytes:67108864}")
+    private long journalCompactBytes;
+
+    private HotSkuJournal journal;
+    private int shards;
+
+    public HotSkuInventory(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        // Leases são confirmados independentemente da transação de quem chamou
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Devolver ao banco o saldo não vendido de uma execução anterior e abrir o log
+     *
+     * Com o modo desligado o log só é lido se existir (saldo de quando o modo estava
+     * ligado) e nada é criado em disco.
+     */
+    @PostConstruct
+    void recover() {
+        Path path = Path.of(journalPath);
+        shards = configuredShards > 0 ? configuredShards : Runtime.getRuntime().availableProcessors();
+        if (!enabled && !Files.exists(path)) {
+            return;
+        }
+
+        journal = new HotSkuJournal(path);
+        Map<Long, Long> unsold = journal.replay();
+        journal.open();
+        unsold.forEach((productId, quantity) -> {
+            if (quantity > 0) {
+                journal.append(HotSkuJournal.RETURN, productId, quantity);
+                journal.force();
+                returnRecorded(productId, quantity, null);
+                log.info("Recuperadas {} unidades em memória do produto ID {}", quantity, productId);
+            }
+        });
+        // Tudo devolvido e registrado: o log pode recomeçar vazio
+        journal.truncate();
+
+        if (enabled) {
+            refreshHotProducts();
+            log.info("Modo SKU quente ativo - shards: {}, lease: {}", shards, leaseSize);
+        } else {
+            journal.delete();
+            journal = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (journal == null) {
+            return;
+        }
+        pools.keySet().forEach(this::drain);
+        journal.close();
+    }
+
+    /**
+     * Verificar se o produto é atendido pelo estoque em memória
+     */
+    public boolean isHot(Long productId) {
+        return enabled && hotProductIds.contains(productId);
+    }
+
+    /**
+     * Retirar unidades do estoque em memória
+     * Retorna false quando não há estoque suficiente nem em memória nem no banco
+     */
+    public boolean tryTake(Long productId, int quantity) {
+        Pool pool = pools.computeIfAbsent(productId, id -> new Pool(shards));
+        int home = ThreadLocalRandom.current().nextInt(shards);
+
+        // 1. Shard local e, em seguida, roubo dos demais shards
+        if (takeAndRecord(pool, productId, home, quantity)) {
+            return true;
+        }
+
+        // 2. Novo lease no banco ou rebalanceamento dos shards
+        synchronized (pool) {
+            if (takeAndRecord(pool, productId, home, quantity)) {
+                return true;
+            }
+
+            // UPDATE no banco fora do lock do log: a compactação não espera o MySQL
+            int leased = lease(productId, Math.max(leaseSize, quantity));
+            if (leased == 0 && quantity < leaseSize) {
+                leased = lease(productId, quantity);
+            }
+
+            Lock lock = journalLock.readLock();
+            lock.lock();
+            try {
+                if (leased > 0) {
+                    journal.append(HotSkuJournal.LEASE, productId, leased);
+                    journal.append(HotSkuJournal.SALE, productId, quantity);
+                    pool.shards.addAndGet(home, leased - quantity);
+                    return true;
+                }
+
+                // Saldo fragmentado entre shards: juntar tudo no shard local
+                long total = pool.drainShards();
+                if (total >= quantity) {
+                    pool.shards.addAndGet(home, total - quantity);
+                    journal.append(HotSkuJournal.SALE, productId, quantity);
+                    return true;
+                }
+                pool.shards.addAndGet(home, total);
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Devolver ao estoque em memória unidades retiradas e não utilizadas
+     */
+    public void giveBack(Long productId, int quantity) {
+        Pool pool = pools.computeIfAbsent(productId, id -> new Pool(shards));
+        Lock lock = journalLock.readLock();
+        lock.lock();
+        try {
+            journal.append(HotSkuJournal.UNSALE, productId, quantity);
+            pool.shards.addAndGet(ThreadLocalRandom.current().nextInt(shards), quantity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Unidades do produto atualmente em memória nesta instância
+     */
+    public long pooledQuantity(Long productId) {
+        Pool pool = pools.get(productId);
+        return pool != null ? pool.total() : 0;
+    }
+
+    /**
+     * Atualizar a lista de produtos quentes e devolver o estoque dos que deixaram de ser
+     */
+    @Scheduled(fixedDelayString = "${product.hot-sku.refresh-interval-ms:30000}")
+    public void refreshHotProducts() {
+        if (!enabled) {
+            return;
+        }
+        hotProductIds = productRepository.findByFeaturedTrueAndActiveTrue().stream()
+                .map(Product::getId)
+                .collect(Collectors.toUnmodifiableSet());
+
+        pools.keySet().stream()
+                .filter(productId -> !hotProductIds.contains(productId))
+                .toList()
+                .forEach(productId -> {
+                    drain(productId);
+                    pools.remove(productId);
+                });
+    }
+
+    /**
+     * Persistir o log em disco e compactá-lo quando crescer demais
+     */
+    @Scheduled(fixedDelayString = "${product.hot-sku.journal-sync-interval-ms:1000}")
+    public void syncJournal() {
+        if (journal == null) {
+            return;
+        }
+        if (journal.size() > journalCompactBytes) {
+            // Sem movimentações em andamento: cada saldo bate com os registros já gravados
+            Lock lock = journalLock.writeLock();
+            lock.lock();
+            try {
+                journal.compact(() -> {
+                    Map<Long, Long> balances = new HashMap<>();
+                    pools.forEach((productId, pool) -> balances.put(productId, pool.total()));
+                    return balances;
+                });
+            } finally {
+                lock.unlock();
+            }
+        } else {
+            journal.force();
+        }
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    private int lease(Long productId, int quantity) {
+        Integer updated = newTransaction.execute(status ->
+                productRepository.decrementStockIfAvailable(productId, quantity, LocalDateTime.now()));
+        return updated != null && updated > 0 ? quantity : 0;
+    }
+
+    /**
+     * Devolver ao banco todo o estoque em memória do produto (ex: antes de um ajuste manual)
+     */
+    public void drain(Long productId) {
+        Pool pool = pools.get(productId);
+        if (pool == null) {
+            return;
+        }
+        synchronized (pool) {
+            long remaining;
+            Lock lock = journalLock.readLock();
+            lock.lock();
+            try {
+                remaining = pool.drainShards();
+                if (remaining == 0) {
+                    return;
+                }
+                journal.append(HotSkuJournal.RETURN, productId, remaining);
+            } finally {
+                lock.unlock();
+            }
+            journal.force();
+
+            returnRecorded(productId, remaining, pool);
+            log.info("Devolvidas {} unidades em memória do produto ID {} ao banco", remaining, productId);
+        }
+    }
+
+    /**
+     * Retirada do shard com o registro da venda, atômica em relação ao checkpoint
+     */
+    private boolean takeAndRecord(Pool pool, Long productId, int home, int quantity) {
+        Lock lock = journalLock.readLock();
+        lock.lock();
+        try {
+            if (!pool.takeFromShards(home, quantity)) {
+                return false;
+            }
+            journal.append(HotSkuJournal.SALE, productId, quantity);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolver ao banco unidades cujo RETURN já foi gravado no log
+     * Se o UPDATE falhar, um LEASE compensa o RETURN e as unidades voltam ao pool (se
+     * houver) e a constar no log como fora do banco, no mesmo passo em relação ao checkpoint
+     */
+    private void returnRecorded(Long productId, long quantity, Pool pool) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    productRepository.incrementStock(productId, Math.toIntExact(quantity), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            Lock lock = journalLock.readLock();
+            lock.lock();
+            try {
+                journal.append(HotSkuJournal.LEASE, productId, quantity);
+                if (pool != null) {
+                    pool.shards.addAndGet(0, quantity);
+                }
+            } finally {
+                lock.unlock();
+            }
+            journal.force();
+            log.error("Falha ao devolver {} unidades do produto ID {} ao banco: {}", quantity, productId, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Estoque em memória de um produto, dividido em shards
+     */
+    private static final class Pool {
+
+        private final AtomicLongArray shards;
+
+        private Pool(int shardCount) {
+            this.shards = new AtomicLongArray(shardCount);
+        }
+
+        /**
+         * Tentar retirar do shard local e depois dos demais (sem bloqueio)
+         */
+        boolean takeFromShards(int home, int quantity) {
+            int count = shards.length();
+            for (int i = 0; i < count; i++) {
+                int index = (home + i) % count;
+                long current = shards.get(index);
+                while (current >= quantity) {
+                    if (shards.compareAndSet(index, current, current - quantity)) {
+                        return true;
+                    }
+                    current = shards.get(index);
+                }
+            }
+            return false;
+        }
+
+        long drainShards() {
+            long total = 0;
+            for (int i = 0; i < shards.length(); i++) {
+                total += shards.getAndSet(i, 0);
+            }
+            return total;
+        }
+
+        long total() {
+            long total = 0;
+            for (int i = 0; i < shards.length(); i++) {
+                total += shards.get(i);
+            }
+            return total;
+        }
+    }
+}
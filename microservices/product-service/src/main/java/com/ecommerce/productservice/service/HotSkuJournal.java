@@ -0,0 +1,182 @@
+package com.ecommerce.productservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Log de movimentações do estoque em memória dos SKUs quentes
+ *
+ * Cada linha registra uma operação sobre as unidades retiradas do banco:
+ * L (lease, retiradas do banco), S (vendidas), U (devolvidas ao pool),
+ * R (devolvidas ao banco) e C (checkpoint com o saldo em memória).
+ * Na recuperação, o saldo de cada produto é C + L - S + U - R.
+ *
+ * As escritas vão direto para o canal do arquivo (sobrevivem a uma queda da JVM);
+ * force() é chamado periodicamente para persistir em disco.
+ */
+@Slf4j
+class HotSkuJournal {
+
+    static final char LEASE = 'L';
+    static final char SALE = 'S';
+    static final char UNSALE = 'U';
+    static final char RETURN = 'R';
+    static final char CHECKPOINT = 'C';
+
+    private final Path path;
+    private FileChannel channel;
+
+    HotSkuJournal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Ler o saldo por produto registrado no log
+     */
+    synchronized Map<Long, Long> replay() {
+        Map<Long, Long> balances = new HashMap<>();
+        if (!Files.exists(path)) {
+            return balances;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                String[] parts = line.split(",");
+                if (parts.length != 3) {
+                    continue; // linha incompleta no final do arquivo após queda
+                }
+                long productId = Long.parseLong(parts[1]);
+                long quantity = Long.parseLong(parts[2]);
+                switch (parts[0].charAt(0)) {
+                    case CHECKPOINT -> balances.put(productId, quantity);
+                    case LEASE, UNSALE -> balances.merge(productId, quantity, Long::sum);
+                    case SALE, RETURN -> balances.merge(productId, -quantity, Long::sum);
+                    default -> log.warn("Registro desconhecido no log de estoque: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler log de estoque " + path, e);
+        }
+        return balances;
+    }
+
+    /**
+     * Abrir o log para escrita, acrescentando ao conteúdo anterior
+     */
+    synchronized void open() {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir log de estoque " + path, e);
+        }
+    }
+
+    /**
+     * Descartar o conteúdo do log (saldo anterior já devolvido ao banco)
+     */
+    synchronized void truncate() {
+        try {
+            channel.truncate(0);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao limpar log de estoque " + path, e);
+        }
+    }
+
+    /**
+     * Fechar e remover o log (modo SKU quente desligado)
+     */
+    synchronized void delete() {
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Falha ao remover log de estoque {}: {}", path, e.getMessage());
+        }
+    }
+
+    synchronized void append(char type, long productId, long quantity) {
+        write(channel, type + "," + productId + "," + quantity + "\n");
+    }
+
+    /**
+     * Substituir o log por checkpoints com os saldos atuais
+     * Quem chama garante que nenhum saldo muda durante o snapshot sem o registro
+     * correspondente (HotSkuInventory toma o lock de escrita de journalLock)
+     */
+    synchronized void compact(Supplier<Map<Long, Long>> snapshot) {
+        Map<Long, Long> balances = snapshot.get();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel compacted = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<Long, Long> entry : balances.entrySet()) {
+                write(compacted, CHECKPOINT + "," + entry.getKey() + "," + entry.getValue() + "\n");
+            }
+            compacted.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao compactar log de estoque " + path, e);
+        }
+
+        try {
+            channel.close();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao substituir log de estoque " + path, e);
+        }
+    }
+
+    synchronized long size() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    synchronized void force() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            log.error("Falha ao sincronizar log de estoque: {}", e.getMessage());
+        }
+    }
+
+    synchronized void close() {
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            log.error("Falha ao fechar log de estoque: {}", e.getMessage());
+        }
+    }
+
+    private static void write(FileChannel target, String record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record.getBytes(StandardCharsets.US_ASCII));
+        try {
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar log de estoque", e);
+        }
+    }
+}
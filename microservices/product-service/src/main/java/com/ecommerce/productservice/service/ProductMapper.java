@@ -0,0 +1,49 @@
+package com.ecommerce.productservice.service;
+
+import com.ecommerce.productservice.dto.ProductResponseDTO;
+import com.ecommerce.productservice.entity.Product;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conversão de produtos para o DTO de resposta
+ *
+ * Sem dependências: usado pelo ProductService e medido diretamente pelos benchmarks JMH.
+ */
+@Component
+public class ProductMapper {
+
+    /**
+     * Converter entidade para DTO de resposta
+     */
+    public ProductResponseDTO toResponseDTO(Product product) {
+        return toResponseDTO(product, 0);
+    }
+
+    /**
+     * Converter entidade para DTO de resposta somando as unidades de SKU quente em memória
+     * (já descontadas da linha do banco) ao estoque, à disponibilidade e ao estoque baixo
+     */
+    public ProductResponseDTO toResponseDTO(Product product, long pooledQuantity) {
+        int stockQuantity = Math.toIntExact(product.getStockQuantity() + pooledQuantity);
+        return ProductResponseDTO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stockQuantity(stockQuantity)
+                .category(product.getCategory())
+                .brand(product.getBrand())
+                .sku(product.getSku())
+                .weight(product.getWeight())
+                .dimensions(product.getDimensions())
+                .imageUrl(product.getImageUrl())
+                .active(product.getActive())
+                .featured(product.getFeatured())
+                .minStockLevel(product.getMinStockLevel())
+                .available(Boolean.TRUE.equals(product.getActive()) && stockQuantity > 0)
+                .lowStock(product.getMinStockLevel() != null && stockQuantity <= product.getMinStockLevel())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+}
@@ -7,15 +7,19 @@ import com.ecommerce.productservice.entity.Product;
 import com.ecommerce.productservice.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Service para gerenciamento de produtos
@@ -27,6 +31,13 @@ import java.util.Map;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final HotSkuInventory hotSkuInventory;
+    private final StockMutationBatcher stockMutationBatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductMapper productMapper;
+
+    @Value("${product.batch.max-size:500}")
+    private int batchMaxSize;
 
     // ============= OPERAÇÕES CRUD =============
 
@@ -63,36 +74,62 @@ public class ProductService {
         Product savedProduct = productRepository.save(product);
         log.info("Produto criado com sucesso - ID: {}, SKU: {}", savedProduct.getId(), savedProduct.getSku());
 
-        return convertToResponseDTO(savedProduct);
+        return toResponseDTO(savedProduct);
     }
 
     /**
      * Buscar produto por ID
      */
     public ProductResponseDTO getProductById(Long id) {
-        log.info("Buscando produto por ID: {}", id);
+        log.debug("Buscando produto por ID: {}", id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado - ID: " + id));
-        return convertToResponseDTO(product);
+        return toResponseDTO(product);
+    }
+
+    /**
+     * Buscar produtos em lote (uso interno entre serviços e agregação no gateway)
+     * Resolve todos os IDs com uma única consulta findAllById; IDs inexistentes são omitidos
+     */
+    public List<ProductResponseDTO> getProductsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                uniqueIds.add(id);
+            }
+        }
+
+        if (uniqueIds.size() > batchMaxSize) {
+            throw new RuntimeException("Quantidade de IDs excede o limite do lote: " + batchMaxSize);
+        }
+
+        log.debug("Buscando {} produtos em lote", uniqueIds.size());
+        return productRepository.findAllById(uniqueIds).stream()
+                .map(this::toResponseDTO)
+                .toList();
     }
 
     /**
      * Buscar produto por SKU
      */
     public ProductResponseDTO getProductBySku(String sku) {
-        log.info("Buscando produto por SKU: {}", sku);
+        log.debug("Buscando produto por SKU: {}", sku);
         Product product = productRepository.findBySku(sku)
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado - SKU: " + sku));
-        return convertToResponseDTO(product);
+        return toResponseDTO(product);
     }
 
     /**
      * Listar todos os produtos
      */
     public List<ProductResponseDTO> getAllProducts() {
-        log.info("Listando todos os produtos");
+        log.debug("Listando todos os produtos");
         return productRepository.findAll().stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -100,9 +137,9 @@ public class ProductService {
      * Listar produtos ativos
      */
     public List<ProductResponseDTO> getActiveProducts() {
-        log.info("Listando produtos ativos");
+        log.debug("Listando produtos ativos");
         return productRepository.findByActiveTrue().stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -110,9 +147,9 @@ public class ProductService {
      * Listar produtos disponíveis (com estoque)
      */
     public List<ProductResponseDTO> getAvailableProducts() {
-        log.info("Listando produtos disponíveis");
+        log.debug("Listando produtos disponíveis");
         return productRepository.findAvailableProducts().stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -120,9 +157,9 @@ public class ProductService {
      * Listar produtos em destaque
      */
     public List<ProductResponseDTO> getFeaturedProducts() {
-        log.info("Listando produtos em destaque");
+        log.debug("Listando produtos em destaque");
         return productRepository.findByFeaturedTrueAndActiveTrue().stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -162,7 +199,7 @@ public class ProductService {
         Product updatedProduct = productRepository.save(product);
         log.info("Produto atualizado com sucesso - ID: {}", updatedProduct.getId());
 
-        return convertToResponseDTO(updatedProduct);
+        return toResponseDTO(updatedProduct);
     }
 
     /**
@@ -197,7 +234,7 @@ public class ProductService {
         Product reactivatedProduct = productRepository.save(product);
 
         log.info("Produto reativado com sucesso - ID: {}", id);
-        return convertToResponseDTO(reactivatedProduct);
+        return toResponseDTO(reactivatedProduct);
     }
 
     /**
@@ -220,14 +257,43 @@ public class ProductService {
     /**
      * Atualizar estoque
      */
-    @Transactional
     public ProductResponseDTO updateStock(UpdateStockDTO updateStockDTO) {
         log.info("Atualizando estoque - Produto ID: {}, Operação: {}, Quantidade: {}", 
                 updateStockDTO.getProductId(), updateStockDTO.getOperation(), updateStockDTO.getQuantity());
 
-        Product product = productRepository.findById(updateStockDTO.getProductId())
-                .orElseThrow(() -> new RuntimeException("Produto não encontrado - ID: " + updateStockDTO.getProductId()));
+        Long productId = updateStockDTO.getProductId();
+        if (hotSkuInventory.isHot(productId)) {
+            return transactionTemplate.execute(status -> updateHotSkuStock(updateStockDTO));
+        }
+
+        if (stockMutationBatcher.isEnabled()) {
+            // Chamador aguarda sem segurar conexão; o lote é gravado em uma única transação
+            StockMutationBatcher.MutationResult result = stockMutationBatcher.apply(updateStockDTO);
+            ProductResponseDTO response = toResponseDTO(result.product());
+            response.setStockQuantity(result.stockAfter());
+            log.info("Estoque atualizado - Produto ID: {}, Novo estoque: {}", productId, result.stockAfter());
+            return response;
+        }
+
+        return transactionTemplate.execute(status -> {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new RuntimeException("Produto não encontrado - ID: " + productId));
+
+            applyStockOperation(product, updateStockDTO);
+            product.setUpdatedAt(LocalDateTime.now());
+            Product updatedProduct = productRepository.save(product);
 
+            log.info("Estoque atualizado - Produto ID: {}, Novo estoque: {}", 
+                    updatedProduct.getId(), updatedProduct.getStockQuantity());
+
+            return toResponseDTO(updatedProduct);
+        });
+    }
+
+    /**
+     * Aplicar a operação de estoque na entidade (compartilhado com o group commit)
+     */
+    static void applyStockOperation(Product product, UpdateStockDTO updateStockDTO) {
         switch (updateStockDTO.getOperation()) {
             case REDUCE:
                 product.reduceStock(updateStockDTO.getQuantity());
@@ -239,14 +305,39 @@ public class ProductService {
                 product.setStockQuantity(updateStockDTO.getQuantity());
                 break;
         }
+    }
 
-        product.setUpdatedAt(LocalDateTime.now());
-        Product updatedProduct = productRepository.save(product);
+    /**
+     * Atualizar estoque de SKU quente
+     * Baixas são atendidas pelo estoque em memória; ajustes manuais (SET) devolvem
+     * antes o saldo em memória ao banco para não contar unidades em dobro
+     */
+    private ProductResponseDTO updateHotSkuStock(UpdateStockDTO updateStockDTO) {
+        Long productId = updateStockDTO.getProductId();
+        int quantity = updateStockDTO.getQuantity();
+        LocalDateTime now = LocalDateTime.now();
 
-        log.info("Estoque atualizado - Produto ID: {}, Novo estoque: {}", 
-                updatedProduct.getId(), updatedProduct.getStockQuantity());
+        switch (updateStockDTO.getOperation()) {
+            case REDUCE:
+                if (!hotSkuInventory.tryTake(productId, quantity)) {
+                    throw new IllegalStateException("Estoque insuficiente. Solicitado: " + quantity);
+                }
+                break;
+            case INCREASE:
+                productRepository.incrementStock(productId, quantity, now);
+                break;
+            case SET:
+                hotSkuInventory.drain(productId);
+                Product adjusted = productRepository.findById(productId)
+                        .orElseThrow(() -> new RuntimeException("Produto não encontrado - ID: " + productId));
+                adjusted.setStockQuantity(quantity);
+                productRepository.save(adjusted);
+                break;
+        }
 
-        return convertToResponseDTO(updatedProduct);
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Produto não encontrado - ID: " + productId));
+        return toResponseDTO(product);
     }
 
     /**
@@ -256,16 +347,25 @@ public class ProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado - ID: " + productId));
 
-        return product.getActive() && product.getStockQuantity() >= requestedQuantity;
+        long stock = product.getStockQuantity() + hotSkuInventory.pooledQuantity(productId);
+        return product.getActive() && stock >= requestedQuantity;
+    }
+
+    /**
+     * DTO de resposta com o estoque visível nesta instância: linha do banco + unidades
+     * do SKU quente em memória (sem pool, pooledQuantity é 0)
+     */
+    private ProductResponseDTO toResponseDTO(Product product) {
+        return productMapper.toResponseDTO(product, hotSkuInventory.pooledQuantity(product.getId()));
     }
 
     /**
      * Produtos com estoque baixo
      */
     public List<ProductResponseDTO> getLowStockProducts() {
-        log.info("Listando produtos com estoque baixo");
+        log.debug("Listando produtos com estoque baixo");
         return productRepository.findLowStockProducts().stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -273,9 +373,9 @@ public class ProductService {
      * Produtos sem estoque
      */
     public List<ProductResponseDTO> getOutOfStockProducts() {
-        log.info("Listando produtos sem estoque");
+        log.debug("Listando produtos sem estoque");
         return productRepository.findOutOfStockProducts().stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -285,9 +385,9 @@ public class ProductService {
      * Buscar produtos por categoria
      */
     public List<ProductResponseDTO> getProductsByCategory(String category) {
-        log.info("Buscando produtos por categoria: {}", category);
+        log.debug("Buscando produtos por categoria: {}", category);
         return productRepository.findByCategoryIgnoreCaseAndActiveTrue(category).stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -295,9 +395,9 @@ public class ProductService {
      * Buscar produtos por marca
      */
     public List<ProductResponseDTO> getProductsByBrand(String brand) {
-        log.info("Buscando produtos por marca: {}", brand);
+        log.debug("Buscando produtos por marca: {}", brand);
         return productRepository.findByBrandIgnoreCaseAndActiveTrue(brand).stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -305,9 +405,9 @@ public class ProductService {
      * Buscar produtos por faixa de preço
      */
     public List<ProductResponseDTO> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        log.info("Buscando produtos por faixa de preço: {} - {}", minPrice, maxPrice);
+        log.debug("Buscando produtos por faixa de preço: {} - {}", minPrice, maxPrice);
         return productRepository.findByPriceRangeAndActiveTrue(minPrice, maxPrice).stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -315,9 +415,9 @@ public class ProductService {
      * Busca textual
      */
     public List<ProductResponseDTO> searchProducts(String searchTerm) {
-        log.info("Buscando produtos com termo: {}", searchTerm);
+        log.debug("Buscando produtos com termo: {}", searchTerm);
         return productRepository.searchProducts(searchTerm).stream()
-                .map(this::convertToResponseDTO)
+                .map(this::toResponseDTO)
                 .toList();
     }
 
@@ -325,9 +425,9 @@ public class ProductService {
      * Busca com paginação
      */
     public Page<ProductResponseDTO> searchProductsWithPagination(String searchTerm, Pageable pageable) {
-        log.info("Buscando produtos com termo '{}' - Página: {}", searchTerm, pageable.getPageNumber());
+        log.debug("Buscando produtos com termo '{}' - Página: {}", searchTerm, pageable.getPageNumber());
         return productRepository.searchProducts(searchTerm, pageable)
-                .map(this::convertToResponseDTO);
+                .map(this::toResponseDTO);
     }
 
     // ============= OPERAÇÕES DE RELATÓRIO =============
@@ -350,7 +450,7 @@ public class ProductService {
      * Estatísticas do catálogo
      */
     public Map<String, Object> getCatalogStatistics() {
-        log.info("Gerando estatísticas do catálogo");
+        log.debug("Gerando estatísticas do catálogo");
         
         return Map.of(
                 "total_products", productRepository.count(),
@@ -363,32 +463,4 @@ public class ProductService {
                 "out_of_stock_count", productRepository.findOutOfStockProducts().size()
         );
     }
-
-    // ============= MÉTODOS AUXILIARES =============
-
-    /**
-     * Converter entidade para DTO de resposta
-     */
-    private ProductResponseDTO convertToResponseDTO(Product product) {
-        return ProductResponseDTO.builder()
-                .id(product.getId())
-                .name(product.getName())
-                .description(product.getDescription())
-                .price(product.getPrice())
-                .stockQuantity(product.getStockQuantity())
-                .category(product.getCategory())
-                .brand(product.getBrand())
-                .sku(product.getSku())
-                .weight(product.getWeight())
-                .dimensions(product.getDimensions())
-                .imageUrl(product.getImageUrl())
-                .active(product.getActive())
-                .featured(product.getFeatured())
-                .minStockLevel(product.getMinStockLevel())
-                .available(product.isAvailable())
-                .lowStock(product.isLowStock())
-                .createdAt(product.getCreatedAt())
-                .updatedAt(product.getUpdatedAt())
-                .build();
-    }
 }
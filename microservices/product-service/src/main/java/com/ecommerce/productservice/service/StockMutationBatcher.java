@@ -0,0 +1,260 @@
+package com.ecommerce.productservice.service;
+
+import com.ecommerce.productservice.dto.UpdateStockDTO;
+import com.ecommerce.productservice.entity.Product;
+import com.ecommerce.productservice.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Agrupamento de atualizações de estoque (group commit)
+ *
+ * Atualizações que chegam em uma janela de poucos milissegundos são aplicadas
+ * juntas: um único SELECT ... FOR UPDATE carrega os produtos, as operações de cada produto
+ * são aplicadas em ordem de chegada e os UPDATEs saem em um batch JDBC dentro de
+ * uma única transação. Cada chamador recebe seu próprio resultado e continua
+ * esperando de forma síncrona.
+ *
+ * Uma operação só é aplicada se o lote a reivindicar antes de o chamador desistir:
+ * no tempo esgotado ela é cancelada e ignorada pelo lote; se já foi reivindicada,
+ * o chamador aguarda o commit e recebe o resultado real.
+ *
+ * Modo opcional: product.stock.group-commit.enabled=true.
+ */
+@Slf4j
+@Component
+public class StockMutationBatcher {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingMutation> queue = new LinkedBlockingQueue<>();
+
+    @Value("${product.stock.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${product.stock.group-commit.max-batch-size:256}")
+    private int maxBatchSize;
+
+    @Value("${product.stock.group-commit.max-wait-ms:2}")
+    private long maxWaitMs;
+
+    @Value("${product.stock.group-commit.caller-timeout-ms:5000}")
+    private long callerTimeoutMs;
+
+    @Value("${product.stock.group-commit.claimed-timeout-ms:30000}")
+    private long claimedTimeoutMs;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public StockMutationBatcher(ProductRepository productRepository, TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Resultado de uma atualização: o produto após o lote e o estoque logo após esta operação
+     */
+    public record MutationResult(Product product, int stockAfter) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runLoop, "stock-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Group commit de estoque ativo - lote máximo: {}, espera: {}ms", maxBatchSize, maxWaitMs);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enfileirar a atualização e aguardar o commit do lote em que ela entrou
+     */
+    public MutationResult apply(UpdateStockDTO updateStockDTO) {
+        PendingMutation mutation = new PendingMutation(updateStockDTO);
+        queue.add(mutation);
+
+        try {
+            return mutation.future.get(callerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            if (mutation.cancel()) {
+                throw new RuntimeException("Tempo esgotado aguardando atualização de estoque");
+            }
+            // Já está em um lote: o resultado depende só do commit desse lote
+            return awaitClaimed(mutation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Atualização de estoque interrompida");
+        }
+    }
+
+    /**
+     * Aguardar um lote que já assumiu a operação, com prazo próprio: se o commit travar,
+     * o chamador não fica preso (o resultado da operação passa a ser desconhecido)
+     */
+    private MutationResult awaitClaimed(PendingMutation mutation) {
+        try {
+            return mutation.future.get(claimedTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            log.error("Lote de estoque não concluiu em {}ms - produto ID: {}", claimedTimeoutMs,
+                    mutation.request.getProductId());
+            throw new RuntimeException("Tempo esgotado aguardando commit do lote de estoque; "
+                    + "a atualização pode ter sido aplicada");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Atualização de estoque interrompida");
+        }
+    }
+
+    // ============= PROCESSAMENTO DOS LOTES =============
+
+    private void runLoop() {
+        List<PendingMutation> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMutation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Janela curta para acumular chamadas concorrentes
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingMutation next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado no group commit de estoque: {}", e.getMessage());
+                batch.forEach(mutation -> mutation.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingMutation> batch) {
+        // Operações canceladas pelo chamador (tempo esgotado) não são aplicadas
+        batch.removeIf(mutation -> !mutation.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<PendingMutation, MutationResult> results = new LinkedHashMap<>();
+        Map<PendingMutation, RuntimeException> failures = new LinkedHashMap<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LinkedHashSet<Long> productIds = batch.stream()
+                    .map(mutation -> mutation.request.getProductId())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            Map<Long, Product> products = productRepository.findAllByIdForUpdate(productIds).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+            LocalDateTime now = LocalDateTime.now();
+            for (PendingMutation mutation : batch) {
+                Product product = products.get(mutation.request.getProductId());
+                if (product == null) {
+                    failures.put(mutation, new RuntimeException(
+                            "Produto não encontrado - ID: " + mutation.request.getProductId()));
+                    continue;
+                }
+                try {
+                    ProductService.applyStockOperation(product, mutation.request);
+                    product.setUpdatedAt(now);
+                    results.put(mutation, new MutationResult(product, product.getStockQuantity()));
+                } catch (RuntimeException e) {
+                    // Falha de uma operação (ex: estoque insuficiente) não afeta as demais
+                    failures.put(mutation, e);
+                }
+            }
+            // Entidades gerenciadas: o flush no commit envia um UPDATE por produto em batch JDBC
+        });
+
+        results.forEach((mutation, result) -> mutation.future.complete(result));
+        failures.forEach((mutation, error) -> mutation.future.completeExceptionally(error));
+        log.debug("Lote de estoque aplicado - {} operações, {} falhas", batch.size(), failures.size());
+    }
+
+    private static final class PendingMutation {
+        private final UpdateStockDTO request;
+        private final CompletableFuture<MutationResult> future = new CompletableFuture<>();
+        private final AtomicBoolean decided = new AtomicBoolean();
+
+        private PendingMutation(UpdateStockDTO request) {
+            this.request = request;
+        }
+
+        /**
+         * Lote assume a operação; falha se o chamador já desistiu
+         */
+        boolean claim() {
+            return decided.compareAndSet(false, true);
+        }
+
+        /**
+         * Chamador desiste; falha se um lote já assumiu a operação
+         */
+        boolean cancel() {
+            if (decided.compareAndSet(false, true)) {
+                future.cancel(false);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.ecommerce.productservice.service;
+
+import com.ecommerce.productservice.dto.ReserveStockDTO;
+import com.ecommerce.productservice.dto.StockReservationResponseDTO;
+import com.ecommerce.productservice.entity.Product;
+import com.ecommerce.productservice.entity.StockReservation;
+import com.ecommerce.productservice.entity.StockReservation.ReservationStatus;
+import com.ecommerce.productservice.exception.ProductNotFoundException;
+import com.ecommerce.productservice.repository.ProductRepository;
+import com.ecommerce.productservice.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service para reservas de estoque com prazo de expiração
+ *
+ * Reservar baixa o estoque vendável de forma atômica (UPDATE condicional).
+ * A reserva é confirmada no pagamento (COMMITTED) ou devolve a quantidade
+ * ao estoque ao ser liberada (cancelamento) ou ao expirar.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductRepository productRepository;
+    private final HotSkuInventory hotSkuInventory;
+
+    @Value("${product.reservation.default-ttl-minutes:15}")
+    private int defaultTtlMinutes;
+
+    /**
+     * Reservar estoque para todos os itens (tudo ou nada)
+     * Repetir a chamada com a mesma referência retorna as reservas existentes
+     */
+    @Transactional
+    public StockReservationResponseDTO reserve(ReserveStockDTO reserveStockDTO) {
+        String reference = reserveStockDTO.getReference();
+
+        List<StockReservation> existing = stockReservationRepository.findByReferenceOrderByProductIdAsc(reference);
+        if (!existing.isEmpty()) {
+            log.info("Reserva {} já existe, retornando reservas atuais", reference);
+            return convertToResponseDTO(reference, existing);
+        }
+
+        // Agrupar por produto e ordenar por ID para evitar deadlocks entre reservas concorrentes
+        Map<Long, Integer> quantities = new TreeMap<>();
+        reserveStockDTO.getItems().forEach(item ->
+                quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+
+        requireActiveProducts(quantities.keySet());
+
+        int ttlMinutes = reserveStockDTO.getTtlMinutes() != null ? reserveStockDTO.getTtlMinutes() : defaultTtlMinutes;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusMinutes(ttlMinutes);
+
+        List<StockReservation> reservations = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (!takeStock(entry.getKey(), entry.getValue(), now)) {
+                // Exceção faz rollback das baixas anteriores desta reserva
+                throw new RuntimeException("Estoque insuficiente para produto ID: " + entry.getKey()
+                        + " (Solicitado: " + entry.getValue() + ")");
+            }
+            reservations.add(StockReservation.builder()
+                    .reference(reference)
+                    .productId(entry.getKey())
+                    .quantity(entry.getValue())
+                    .status(ReservationStatus.RESERVED)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+
+        List<StockReservation> saved = stockReservationRepository.saveAll(reservations);
+        log.info("Reserva {} criada - {} produtos, expira em {}", reference, saved.size(), expiresAt);
+        return convertToResponseDTO(reference, saved);
+    }
+
+    /**
+     * Confirmar reserva (pagamento aprovado)
+     * Reservas já expiradas são refeitas se ainda houver estoque
+     */
+    @Transactional
+    public StockReservationResponseDTO commit(String reference) {
+        List<StockReservation> reservations = findReservations(reference);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (StockReservation reservation : reservations) {
+            commitReservation(reference, reservation, now);
+            reservation.setStatus(ReservationStatus.COMMITTED);
+        }
+
+        log.info("Reserva {} confirmada", reference);
+        return convertToResponseDTO(reference, reservations);
+    }
+
+    /**
+     * Liberar reserva (cancelamento), devolvendo a quantidade ao estoque
+     * Vale tanto para reservas pendentes quanto para já confirmadas
+     */
+    @Transactional
+    public StockReservationResponseDTO release(String reference) {
+        List<StockReservation> reservations = findReservations(reference);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (StockReservation reservation : reservations) {
+            ReservationStatus current = reservation.getStatus();
+            if (current != ReservationStatus.RESERVED && current != ReservationStatus.COMMITTED) {
+                continue;
+            }
+            if (stockReservationRepository.transition(reservation.getId(), current, ReservationStatus.RELEASED, now) == 1) {
+                productRepository.incrementStock(reservation.getProductId(), reservation.getQuantity(), now);
+                reservation.setStatus(ReservationStatus.RELEASED);
+            }
+        }
+
+        log.info("Reserva {} liberada", reference);
+        return convertToResponseDTO(reference, reservations);
+    }
+
+    /**
+     * Consultar reservas de uma referência
+     */
+    public StockReservationResponseDTO getReservation(String reference) {
+        return convertToResponseDTO(reference, findReservations(reference));
+    }
+
+    /**
+     * Expirar um lote de reservas vencidas, devolvendo o estoque
+     * Retorna a quantidade de reservas processadas no lote
+     */
+    @Transactional
+    public int expireBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockReservation> expired = stockReservationRepository.findExpired(now, PageRequest.of(0, batchSize));
+
+        for (StockReservation reservation : expired) {
+            if (stockReservationRepository.transition(
+                    reservation.getId(), ReservationStatus.RESERVED, ReservationStatus.EXPIRED, now) == 1) {
+                productRepository.incrementStock(reservation.getProductId(), reservation.getQuantity(), now);
+                log.debug("Reserva {} do produto ID {} expirada", reservation.getReference(), reservation.getProductId());
+            }
+        }
+        return expired.size();
+    }
+
+    // ============= MÉTODOS AUXILIARES =============
+
+    /**
+     * Confirmar uma reserva a partir do status atual
+     * Se o StockReservationSweeper expirar a reserva entre a leitura e o UPDATE, a
+     * transição RESERVED → COMMITTED não acontece e o status é relido do banco
+     */
+    private void commitReservation(String reference, StockReservation reservation, LocalDateTime now) {
+        ReservationStatus status = reservation.getStatus();
+        if (status == ReservationStatus.RESERVED) {
+            if (stockReservationRepository.transition(
+                    reservation.getId(), ReservationStatus.RESERVED, ReservationStatus.COMMITTED, now) == 1) {
+                return;
+            }
+            status = stockReservationRepository.findStatusById(reservation.getId());
+            log.debug("Reserva {} do produto ID {} mudou para {} durante a confirmação",
+                    reference, reservation.getProductId(), status);
+        }
+
+        switch (status) {
+            case EXPIRED -> {
+                // Estoque já devolvido na expiração: baixar de novo
+                if (productRepository.decrementStockIfAvailable(
+                        reservation.getProductId(), reservation.getQuantity(), now) == 0) {
+                    throw new RuntimeException("Reserva expirada e estoque insuficiente para produto ID: "
+                            + reservation.getProductId());
+                }
+                if (stockReservationRepository.transition(
+                        reservation.getId(), ReservationStatus.EXPIRED, ReservationStatus.COMMITTED, now) == 0) {
+                    // Exceção faz rollback da baixa acima
+                    throw new RuntimeException("Reserva alterada durante a confirmação - Referência: " + reference);
+                }
+            }
+            case RELEASED -> throw new RuntimeException("Reserva já foi liberada - Referência: " + reference);
+            case RESERVED, COMMITTED -> { /* já confirmada */ }
+        }
+    }
+
+    /**
+     * Todos os produtos existem e estão ativos (uma única consulta)
+     */
+    private void requireActiveProducts(Set<Long> productIds) {
+        Set<Long> active = productRepository.findAllById(productIds).stream()
+                .filter(product -> Boolean.TRUE.equals(product.getActive()))
+                .map(Product::getId)
+                .collect(Collectors.toSet());
+        for (Long productId : productIds) {
+            if (!active.contains(productId)) {
+                throw new ProductNotFoundException(productId);
+            }
+        }
+    }
+
+    /**
+     * Baixar estoque do banco ou, para SKUs quentes, do estoque em memória
+     * Unidades em memória não voltam com o rollback do banco, então são devolvidas ao pool
+     */
+    private boolean takeStock(Long productId, Integer quantity, LocalDateTime now) {
+        if (!hotSkuInventory.isHot(productId)) {
+            return productRepository.decrementStockIfAvailable(productId, quantity, now) == 1;
+        }
+        if (!hotSkuInventory.tryTake(productId, quantity)) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    hotSkuInventory.giveBack(productId, quantity);
+                }
+            }
+        });
+        return true;
+    }
+
+    private List<StockReservation> findReservations(String reference) {
+        List<StockReservation> reservations = stockReservationRepository.findByReferenceOrderByProductIdAsc(reference);
+        if (reservations.isEmpty()) {
+            throw new RuntimeException("Reserva não encontrada - Referência: " + reference);
+        }
+        return reservations;
+    }
+
+    private StockReservationResponseDTO convertToResponseDTO(String reference, List<StockReservation> reservations) {
+        return StockReservationResponseDTO.builder()
+                .reference(reference)
+                .items(reservations.stream()
+                        .map(reservation -> StockReservationResponseDTO.ReservationItemResponseDTO.builder()
+                                .productId(reservation.getProductId())
+                                .quantity(reservation.getQuantity())
+                                .status(reservation.getStatus().name())
+                                .expiresAt(reservation.getExpiresAt())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.productservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job que devolve ao estoque as reservas vencidas
+ * Varre pelo índice (status, expires_at) em lotes, cada lote em sua própria transação
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReservationSweeper {
+
+    private final StockReservationService stockReservationService;
+
+    @Value("${product.reservation.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${product.reservation.sweep-interval-ms:30000}")
+    public void sweepExpiredReservations() {
+        int total = 0;
+        int processed;
+        do {
+            processed = stockReservationService.expireBatch(batchSize);
+            total += processed;
+        } while (processed == batchSize);
+
+        if (total > 0) {
+            log.info("{} reservas de estoque expiradas devolvidas ao estoque", total);
+        }
+    }
+}
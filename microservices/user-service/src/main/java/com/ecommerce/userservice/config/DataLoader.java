@@ -2,6 +2,7 @@ package com.ecommerce.userservice.config;
 
 import com.ecommerce.userservice.entity.User;
 import com.ecommerce.userservice.repository.UserRepository;
+import com.ecommerce.userservice.service.UserSearchIndexer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -21,10 +22,12 @@ public class DataLoader implements CommandLineRunner {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSearchIndexer userSearchIndexer;
 
     @Override
     public void run(String... args) throws Exception {
         loadTestUsers();
+        userSearchIndexer.rebuildIfEmpty();
     }
 
     /**
@@ -3,21 +3,29 @@ package com.ecommerce.userservice.controller;
 import com.ecommerce.userservice.dto.CreateUserDTO;
 import com.ecommerce.userservice.dto.LoginDTO;
 import com.ecommerce.userservice.dto.LoginResponseDTO;
+import com.ecommerce.userservice.dto.UserPageDTO;
 import com.ecommerce.userservice.dto.UserResponseDTO;
+import com.ecommerce.userservice.dto.UserSearchPageDTO;
+import com.ecommerce.userservice.dto.UserSummaryDTO;
 import com.ecommerce.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -146,6 +154,31 @@ public class UserController {
         }
     }
 
+    /**
+     * Buscar usuários em lote (uso interno entre serviços)
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Buscar usuários em lote", 
+               description = "Retorna dados compactos (id, nome, ativo, role) de vários usuários em uma única consulta")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Usuários encontrados"),
+            @ApiResponse(responseCode = "400", description = "Lote inválido ou acima do limite")
+    })
+    public ResponseEntity<?> getUsersByIds(@RequestBody List<Long> ids) {
+        
+        try {
+            log.debug("Buscando usuários em lote - Quantidade: {}", ids != null ? ids.size() : 0);
+            List<UserSummaryDTO> users = userService.getUsersByIds(ids);
+            return ResponseEntity.ok(users);
+            
+        } catch (Exception e) {
+            log.error("Erro ao buscar usuários em lote: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
     /**
      * Listar todos os usuários (apenas admins)
      */
@@ -161,6 +194,87 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Listar usuários paginados via cursor (apenas admins)
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Listar usuários paginados", 
+               description = "Retorna uma página de usuários usando paginação keyset por ID (apenas admins)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de usuários retornada"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de paginação inválidos")
+    })
+    public ResponseEntity<?> getUsersPage(
+            @Parameter(description = "ID do último usuário da página anterior") 
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean activeOnly) {
+        
+        try {
+            UserPageDTO page = userService.getUsersPage(cursor, size, activeOnly);
+            return ResponseEntity.ok(page);
+            
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Buscar usuários por nome (apenas admins)
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Buscar usuários por nome", 
+               description = "Busca indexada por início de palavra, sem acentos, ordenada por relevância (apenas admins)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados da busca retornados"),
+            @ApiResponse(responseCode = "400", description = "Termo de busca ou paginação inválidos")
+    })
+    public ResponseEntity<?> searchUsers(
+            @Parameter(description = "Texto de busca (ex: 'joao sil')") 
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            UserSearchPageDTO result = userService.searchUsers(query, page, size);
+            return ResponseEntity.ok(result);
+            
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Exportar usuários em CSV ou NDJSON (apenas admins)
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportar usuários", 
+               description = "Exporta usuários em streaming nos formatos CSV ou NDJSON (apenas admins)")
+    @ApiResponse(responseCode = "200", description = "Arquivo de exportação gerado")
+    public void exportUsers(
+            @RequestParam(defaultValue = "CSV") UserService.ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean activeOnly,
+            HttpServletResponse response) throws IOException {
+        
+        log.info("Exportando usuários no formato {}", format);
+        boolean csv = format == UserService.ExportFormat.CSV;
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + (csv ? "csv" : "ndjson") + "\"");
+
+        Writer writer = response.getWriter();
+        userService.exportUsers(format, activeOnly, writer);
+        writer.flush();
+    }
+
     /**
      * Listar usuários ativos (apenas admins)
      */
@@ -0,0 +1,24 @@
+package com.ecommerce.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para página de usuários com paginação keyset
+ * O cursor da próxima página é o ID do último usuário retornado
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDTO {
+
+    private List<UserResponseDTO> content;
+    private Integer size;
+    private Boolean hasNext;
+    private Long nextCursor;
+}
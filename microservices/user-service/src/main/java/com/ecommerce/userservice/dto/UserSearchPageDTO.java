@@ -0,0 +1,24 @@
+package com.ecommerce.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para página de resultados da busca de usuários, ordenada por relevância
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchPageDTO {
+
+    private String query;
+    private Integer page;
+    private Integer size;
+    private Boolean hasNext;
+    private List<UserResponseDTO> content;
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.userservice.dto;
+
+import com.ecommerce.userservice.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO compacto de usuário para consultas em lote entre serviços
+ * Contém apenas os campos necessários para exibição e validação
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDTO {
+
+    private Long id;
+    private String name;
+    private Boolean active;
+    private User.Role role;
+}
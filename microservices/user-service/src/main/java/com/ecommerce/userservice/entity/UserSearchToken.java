@@ -0,0 +1,40 @@
+package com.ecommerce.userservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidade UserSearchToken - Índice de busca por nome
+ * Cada linha associa um prefixo normalizado (sem acentos, minúsculo) de uma
+ * palavra do nome a um usuário. Mantida pelo UserSearchIndexer a cada escrita.
+ */
+@Entity
+@Table(name = "user_search_tokens", indexes = {
+        @Index(name = "idx_user_search_token", columnList = "token, user_id"),
+        @Index(name = "idx_user_search_user", columnList = "user_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 32)
+    private String token;
+
+    /**
+     * Peso do token no ranking: palavra completa pesa mais que prefixo
+     */
+    @Column(nullable = false)
+    private Integer weight;
+}
@@ -1,10 +1,14 @@
 package com.ecommerce.userservice.repository;
 
+import com.ecommerce.userservice.dto.UserResponseDTO;
 import com.ecommerce.userservice.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,19 +40,57 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByActiveTrue();
 
     /**
-     * Busca usuários por nome (LIKE)
+     * Conta usuários por role
      */
-    @Query("SELECT u FROM User u WHERE u.name LIKE %:name%")
-    List<User> findByNameContaining(String name);
+    long countByRole(User.Role role);
 
     /**
-     * Conta usuários por role
+     * Lista usuários por data de criação (projeção sem a coluna de senha)
      */
-    long countByRole(User.Role role);
+    @Query("SELECT new com.ecommerce.userservice.dto.UserResponseDTO(" +
+           "u.id, u.name, u.email, u.role, u.active, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.createdAt IS NOT NULL ORDER BY u.createdAt DESC")
+    List<UserResponseDTO> findAllOrderByCreatedAtDesc();
+
+    // ============= PROJEÇÕES (SEM SENHA) =============
+
+    /**
+     * Lista todos os usuários como projeção (não seleciona a senha)
+     */
+    @Query("SELECT new com.ecommerce.userservice.dto.UserResponseDTO(" +
+           "u.id, u.name, u.email, u.role, u.active, u.createdAt, u.updatedAt) " +
+           "FROM User u ORDER BY u.id DESC")
+    List<UserResponseDTO> findAllProjected();
+
+    /**
+     * Lista usuários ativos como projeção (não seleciona a senha)
+     */
+    @Query("SELECT new com.ecommerce.userservice.dto.UserResponseDTO(" +
+           "u.id, u.name, u.email, u.role, u.active, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.active = true ORDER BY u.id DESC")
+    List<UserResponseDTO> findActiveProjected();
+
+    /**
+     * Página keyset: usuários com ID menor que o cursor, do mais recente ao mais antigo
+     */
+    @Query("SELECT new com.ecommerce.userservice.dto.UserResponseDTO(" +
+           "u.id, u.name, u.email, u.role, u.active, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.id < :cursor ORDER BY u.id DESC")
+    List<UserResponseDTO> findPageBefore(@Param("cursor") Long cursor, Pageable pageable);
+
+    /**
+     * Página keyset de usuários ativos
+     */
+    @Query("SELECT new com.ecommerce.userservice.dto.UserResponseDTO(" +
+           "u.id, u.name, u.email, u.role, u.active, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.id < :cursor AND u.active = true ORDER BY u.id DESC")
+    List<UserResponseDTO> findActivePageBefore(@Param("cursor") Long cursor, Pageable pageable);
 
     /**
-     * Busca usuários ativos (implementação futura para soft delete)
+     * Busca usuários por IDs como projeção (usado pelos resultados da busca)
      */
-    @Query("SELECT u FROM User u WHERE u.createdAt IS NOT NULL ORDER BY u.createdAt DESC")
-    List<User> findAllOrderByCreatedAtDesc();
+    @Query("SELECT new com.ecommerce.userservice.dto.UserResponseDTO(" +
+           "u.id, u.name, u.email, u.role, u.active, u.createdAt, u.updatedAt) " +
+           "FROM User u WHERE u.id IN :ids")
+    List<UserResponseDTO> findProjectedByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,37 @@
+package com.ecommerce.userservice.repository;
+
+import com.ecommerce.userservice.entity.UserSearchToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository para o índice de busca de usuários
+ */
+@Repository
+public interface UserSearchTokenRepository extends JpaRepository<UserSearchToken, Long> {
+
+    /**
+     * Remove todos os tokens de um usuário
+     */
+    @Modifying
+    @Query("DELETE FROM UserSearchToken t WHERE t.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * IDs de usuários que possuem todos os termos buscados, ordenados por relevância
+     * A busca percorre apenas o índice (token, user_id); Slice evita o COUNT
+     */
+    @Query("SELECT t.userId FROM UserSearchToken t WHERE t.token IN :tokens " +
+           "GROUP BY t.userId HAVING COUNT(DISTINCT t.token) = :termCount " +
+           "ORDER BY SUM(t.weight) DESC, t.userId DESC")
+    Slice<Long> findRankedUserIds(@Param("tokens") Collection<String> tokens,
+                                 @Param("termCount") long termCount,
+                                 Pageable pageable);
+}
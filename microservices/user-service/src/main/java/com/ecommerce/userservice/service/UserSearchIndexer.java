@@ -0,0 +1,163 @@
+package com.ecommerce.userservice.service;
+
+import com.ecommerce.userservice.entity.User;
+import com.ecommerce.userservice.entity.UserSearchToken;
+import com.ecommerce.userservice.repository.UserRepository;
+import com.ecommerce.userservice.repository.UserSearchTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Mantém o índice de busca de usuários (tabela user_search_tokens)
+ * Cada palavra do nome é normalizada (minúscula, sem acentos) e indexada por
+ * prefixos (edge n-grams), permitindo busca por início de palavra via índice
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndexer {
+
+    private static final int WORD_WEIGHT = 2;
+    private static final int PREFIX_WEIGHT = 1;
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final UserSearchTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${user.search.min-gram:2}")
+    private int minGram;
+
+    @Value("${user.search.max-gram:20}")
+    private int maxGram;
+
+    /**
+     * Reindexar um usuário (substitui os tokens existentes)
+     */
+    @Transactional
+    public void index(User user) {
+        tokenRepository.deleteByUserId(user.getId());
+        tokenRepository.saveAll(buildTokens(user));
+    }
+
+    /**
+     * Remover usuário do índice
+     */
+    @Transactional
+    public void remove(Long userId) {
+        tokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Converter texto de busca nos termos consultados no índice
+     * Cada palavra vira um único termo, truncado ao tamanho máximo do n-gram
+     */
+    public Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words(query)) {
+            if (word.length() >= minGram) {
+                terms.add(word.length() > maxGram ? word.substring(0, maxGram) : word);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Buscar IDs de usuários ranqueados por relevância para os termos informados
+     */
+    public Slice<Long> search(Set<String> terms, int page, int size) {
+        return tokenRepository.findRankedUserIds(terms, terms.size(), PageRequest.of(page, size));
+    }
+
+    /**
+     * Popular o índice para usuários existentes, caso esteja vazio
+     * Cada página roda na sua própria transação: o contexto de persistência é
+     * descartado a cada lote em vez de acumular todos os usuários e tokens
+     */
+    public void rebuildIfEmpty() {
+        if (tokenRepository.count() > 0) {
+            return;
+        }
+
+        log.info("Construindo índice de busca de usuários...");
+        int pageNumber = 0;
+        long indexed = 0;
+        Page<User> page;
+        do {
+            int current = pageNumber++;
+            page = transactionTemplate.execute(status -> indexPage(current));
+            indexed += page.getNumberOfElements();
+        } while (page.hasNext());
+
+        log.info("Índice de busca construído para {} usuários", indexed);
+    }
+
+    private Page<User> indexPage(int pageNumber) {
+        Page<User> page = userRepository.findAll(PageRequest.of(pageNumber, REBUILD_PAGE_SIZE, Sort.by("id")));
+        List<UserSearchToken> tokens = new ArrayList<>();
+        for (User user : page.getContent()) {
+            tokens.addAll(buildTokens(user));
+        }
+        tokenRepository.saveAll(tokens);
+        return page;
+    }
+
+    /**
+     * Gerar os tokens de um usuário, mantendo o maior peso por token
+     */
+    private List<UserSearchToken> buildTokens(User user) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String word : words(user.getName())) {
+            int limit = Math.min(word.length(), maxGram);
+            for (int length = minGram; length <= limit; length++) {
+                int weight = length == word.length() ? WORD_WEIGHT : PREFIX_WEIGHT;
+                weights.merge(word.substring(0, length), weight, Math::max);
+            }
+        }
+
+        List<UserSearchToken> tokens = new ArrayList<>(weights.size());
+        weights.forEach((token, weight) -> tokens.add(UserSearchToken.builder()
+                .userId(user.getId())
+                .token(token)
+                .weight(weight)
+                .build()));
+        return tokens;
+    }
+
+    /**
+     * Normalizar texto: remove acentos, converte para minúsculas e separa palavras
+     */
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -3,10 +3,14 @@ package com.ecommerce.userservice.service;
 import com.ecommerce.userservice.dto.CreateUserDTO;
 import com.ecommerce.userservice.dto.LoginDTO;
 import com.ecommerce.userservice.dto.LoginResponseDTO;
+import com.ecommerce.userservice.dto.UserPageDTO;
 import com.ecommerce.userservice.dto.UserResponseDTO;
+import com.ecommerce.userservice.dto.UserSearchPageDTO;
+import com.ecommerce.userservice.dto.UserSummaryDTO;
 import com.ecommerce.userservice.entity.User;
 import com.ecommerce.userservice.repository.UserRepository;
 import com.ecommerce.userservice.security.JwtUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,13 +20,24 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service para gerenciamento de usuários
@@ -37,6 +52,24 @@ public class UserService implements UserDetailsService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
+    private final ObjectMapper objectMapper;
+    private final UserSearchIndexer userSearchIndexer;
+
+    @Value("${user.batch.max-size:500}")
+    private int batchMaxSize;
+
+    @Value("${user.page.max-size:200}")
+    private int pageMaxSize;
+
+    @Value("${user.export.batch-size:1000}")
+    private int exportBatchSize;
+
+    /**
+     * Formatos suportados pela exportação de usuários
+     */
+    public enum ExportFormat {
+        CSV, NDJSON
+    }
 
     /**
      * Implementação do UserDetailsService para autenticação
@@ -77,6 +110,7 @@ public class UserService implements UserDetailsService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        userSearchIndexer.index(savedUser);
         log.info("Usuário criado com sucesso - ID: {}", savedUser.getId());
 
         return convertToResponseDTO(savedUser);
@@ -102,14 +136,39 @@ public class UserService implements UserDetailsService {
         return convertToResponseDTO(user);
     }
 
+    /**
+     * Buscar usuários em lote (uso interno entre serviços)
+     * Resolve todos os IDs com uma única consulta findAllById
+     */
+    public List<UserSummaryDTO> getUsersByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                uniqueIds.add(id);
+            }
+        }
+
+        if (uniqueIds.size() > batchMaxSize) {
+            throw new RuntimeException("Quantidade de IDs excede o limite do lote: " + batchMaxSize);
+        }
+
+        log.debug("Buscando {} usuários em lote", uniqueIds.size());
+        return userRepository.findAllById(uniqueIds).stream()
+                .map(this::convertToSummaryDTO)
+                .toList();
+    }
+
     /**
      * Listar todos os usuários
+     * Usa projeção direta para DTO, sem carregar a senha
      */
     public List<UserResponseDTO> getAllUsers() {
         log.info("Listando todos os usuários");
-        return userRepository.findAll().stream()
-                .map(this::convertToResponseDTO)
-                .toList();
+        return userRepository.findAllProjected();
     }
 
     /**
@@ -117,9 +176,109 @@ public class UserService implements UserDetailsService {
      */
     public List<UserResponseDTO> getActiveUsers() {
         log.info("Listando usuários ativos");
-        return userRepository.findByActiveTrue().stream()
-                .map(this::convertToResponseDTO)
-                .toList();
+        return userRepository.findActiveProjected();
+    }
+
+    /**
+     * Listar usuários com paginação keyset (do ID mais recente para o mais antigo)
+     * Busca size + 1 registros para saber se existe próxima página sem executar COUNT
+     */
+    public UserPageDTO getUsersPage(Long cursor, int size, boolean activeOnly) {
+        if (size <= 0 || size > pageMaxSize) {
+            throw new RuntimeException("Tamanho de página deve estar entre 1 e " + pageMaxSize);
+        }
+
+        log.debug("Listando página de usuários - cursor: {}, size: {}, activeOnly: {}", cursor, size, activeOnly);
+        List<UserResponseDTO> rows = fetchPage(cursor, size + 1, activeOnly);
+
+        boolean hasNext = rows.size() > size;
+        List<UserResponseDTO> content = hasNext ? rows.subList(0, size) : rows;
+        Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+
+        return UserPageDTO.builder()
+                .content(List.copyOf(content))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Exportar usuários em lotes keyset, escrevendo diretamente no writer
+     * Apenas um lote fica em memória por vez
+     */
+    public long exportUsers(ExportFormat format, boolean activeOnly, Writer writer) throws IOException {
+        log.info("Exportando usuários - formato: {}, activeOnly: {}", format, activeOnly);
+
+        if (format == ExportFormat.CSV) {
+            writer.write("id,name,email,role,active,createdAt,updatedAt\n");
+        }
+
+        long exported = 0;
+        Long cursor = null;
+        List<UserResponseDTO> batch;
+        do {
+            batch = fetchPage(cursor, exportBatchSize, activeOnly);
+            for (UserResponseDTO user : batch) {
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(user, writer);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(user));
+                    writer.write('\n');
+                }
+            }
+            writer.flush();
+            exported += batch.size();
+            if (!batch.isEmpty()) {
+                cursor = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == exportBatchSize);
+
+        log.info("Exportação concluída - {} usuários", exported);
+        return exported;
+    }
+
+    /**
+     * Buscar usuários por nome usando o índice de tokens
+     * Todas as palavras buscadas devem casar com o início de alguma palavra do nome;
+     * palavras completas pesam mais no ranking que prefixos
+     */
+    public UserSearchPageDTO searchUsers(String query, int page, int size) {
+        if (size <= 0 || size > pageMaxSize) {
+            throw new RuntimeException("Tamanho de página deve estar entre 1 e " + pageMaxSize);
+        }
+        if (page < 0) {
+            throw new RuntimeException("Página não pode ser negativa");
+        }
+
+        Set<String> terms = userSearchIndexer.queryTerms(query);
+        if (terms.isEmpty()) {
+            throw new RuntimeException("Informe ao menos um termo de busca com 2 ou mais caracteres");
+        }
+
+        log.debug("Buscando usuários - termos: {}, page: {}, size: {}", terms, page, size);
+        Slice<Long> rankedIds = userSearchIndexer.search(terms, page, size);
+        List<Long> pageIds = rankedIds.getContent();
+
+        Map<Long, UserResponseDTO> usersById = pageIds.isEmpty() ? Map.of() :
+                userRepository.findProjectedByIdIn(pageIds).stream()
+                        .collect(Collectors.toMap(UserResponseDTO::getId, Function.identity()));
+
+        List<UserResponseDTO> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            UserResponseDTO user = usersById.get(id);
+            if (user != null) {
+                content.add(user);
+            }
+        }
+
+        return UserSearchPageDTO.builder()
+                .query(query)
+                .page(page)
+                .size(content.size())
+                .hasNext(rankedIds.hasNext())
+                .content(content)
+                .build();
     }
 
     /**
@@ -138,6 +297,8 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("Email já está em uso: " + updateUserDTO.getEmail());
         }
 
+        boolean nameChanged = !user.getName().equals(updateUserDTO.getName());
+
         // Atualizar dados
         user.setName(updateUserDTO.getName());
         user.setEmail(updateUserDTO.getEmail());
@@ -150,6 +311,9 @@ public class UserService implements UserDetailsService {
         }
 
         User updatedUser = userRepository.save(user);
+        if (nameChanged) {
+            userSearchIndexer.index(updatedUser);
+        }
         log.info("Usuário atualizado com sucesso - ID: {}", updatedUser.getId());
 
         return convertToResponseDTO(updatedUser);
@@ -202,6 +366,7 @@ public class UserService implements UserDetailsService {
         }
 
         userRepository.deleteById(id);
+        userSearchIndexer.remove(id);
         log.info("Usuário deletado permanentemente - ID: {}", id);
     }
 
@@ -252,6 +417,55 @@ public class UserService implements UserDetailsService {
         return userRepository.existsByEmail(email);
     }
 
+    /**
+     * Buscar uma página keyset de usuários a partir do cursor (exclusivo)
+     */
+    private List<UserResponseDTO> fetchPage(Long cursor, int limit, boolean activeOnly) {
+        Long effectiveCursor = cursor != null ? cursor : Long.MAX_VALUE;
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        return activeOnly
+                ? userRepository.findActivePageBefore(effectiveCursor, pageRequest)
+                : userRepository.findPageBefore(effectiveCursor, pageRequest);
+    }
+
+    /**
+     * Escrever uma linha CSV de usuário
+     */
+    private void writeCsvLine(UserResponseDTO user, Writer writer) throws IOException {
+        writer.write(String.valueOf(user.getId()));
+        writer.write(',');
+        writer.write(escapeCsv(user.getName()));
+        writer.write(',');
+        writer.write(escapeCsv(user.getEmail()));
+        writer.write(',');
+        writer.write(user.getRole() != null ? user.getRole().name() : "");
+        writer.write(',');
+        writer.write(String.valueOf(Boolean.TRUE.equals(user.getActive())));
+        writer.write(',');
+        writer.write(user.getCreatedAt() != null ? user.getCreatedAt().toString() : "");
+        writer.write(',');
+        writer.write(user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : "");
+        writer.write('\n');
+    }
+
+    /**
+     * Escapar valor CSV, neutralizando fórmulas de planilha (=, +, -, @)
+     */
+    private String escapeCsv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String safe = value;
+        char first = safe.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            safe = "'" + safe;
+        }
+        if (safe.indexOf(',') >= 0 || safe.indexOf('"') >= 0 || safe.indexOf('\n') >= 0 || safe.indexOf('\r') >= 0) {
+            return '"' + safe.replace("\"", "\"\"") + '"';
+        }
+        return safe;
+    }
+
     /**
      * Converter entidade para DTO de resposta
      */
@@ -266,4 +480,16 @@ public class UserService implements UserDetailsService {
                 .updatedAt(user.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * Converter entidade para DTO compacto
+     */
+    private UserSummaryDTO convertToSummaryDTO(User user) {
+        return UserSummaryDTO.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .active(user.getActive())
+                .role(user.getRole())
+                .build();
+    }
 }